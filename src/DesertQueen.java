@@ -1,21 +1,14 @@
+import com.heap.IndexedHeap;
+
 import java.util.*;
 
 public class DesertQueen {
 
-    static class Cell {
-        int x, y, cost;
-        Cell(int x, int y, int cost) {
-            this.x = x;
-            this.y = y;
-            this.cost = cost;
-        }
-    }
-
     public static int minWater(int n, char[][] dsrt) {
         int[] dx = {-1, 1, 0, 0};
         int[] dy = {0, 0, -1, 1};
 
-        PriorityQueue<Cell> pq = new PriorityQueue<>(Comparator.comparingInt(cell -> cell.cost));
+        IndexedHeap pq = new IndexedHeap(n * n);
 
         int strtX = 0, strtY = 0, endX = 0, endY = 0;
         for (int i = 0; i < n; i++) {
@@ -34,16 +27,14 @@ public class DesertQueen {
         for (int[] row : dist) Arrays.fill(row, Integer.MAX_VALUE);
         dist[strtX][strtY] = 0;
 
-        pq.offer(new Cell(strtX, strtY, 0));
+        pq.insert(strtX * n + strtY, 0);
 
         while (!pq.isEmpty()) {
-            Cell curr = pq.poll();
-            int x = curr.x, y = curr.y, cost = curr.cost;
+            int curr = pq.remove();
+            int x = curr / n, y = curr % n, cost = dist[x][y];
 
             if (x == endX && y == endY) return cost;
 
-            if (cost > dist[x][y]) continue;
-
             for (int i = 0; i < 4; i++) {
                 int nx = x + dx[i], ny = y + dy[i];
                 if (nx >= 0 && nx < n && ny >= 0 && ny < n && dsrt[nx][ny] != 'M') {
@@ -51,7 +42,7 @@ public class DesertQueen {
                     int newCost = cost + (dsrt[nx][ny] == 'T' ? 0 : 1);
                     if (newCost < dist[nx][ny]) {
                         dist[nx][ny] = newCost;
-                        pq.offer(new Cell(nx, ny, newCost));
+                        pq.update(nx * n + ny, newCost);
                     }
                 }
             }
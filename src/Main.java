@@ -1,3 +1,5 @@
+import com.heap.IndexedHeap;
+
 import java.io.*;
 import java.util.*;
 
@@ -30,29 +32,32 @@ public class Main {
         }
         waterConsumption[start[0]][start[1]] = 0;
         
-        PriorityQueue<Node> pq = new PriorityQueue<>();
-        pq.offer(new Node(start[0], start[1], 0));
+        // one entry per cell at most, a cheaper path lowers the entry instead of adding another
+        IndexedHeap pq = new IndexedHeap(n * n);
+        pq.insert(start[0] * n + start[1], 0);
         
         while (!pq.isEmpty()) {
-            Node current = pq.poll();
-            if (current.water > waterConsumption[current.x][current.y]) continue;
-            if (current.x == end[0] && current.y == end[1]) {
-                return current.water;
+            int cell = pq.remove();
+            int x = cell / n;
+            int y = cell % n;
+            int water = waterConsumption[x][y];
+            if (x == end[0] && y == end[1]) {
+                return water;
             }
 
             for (int[] dir : DIRECTIONS) {
-                int newX = current.x + dir[0];
-                int newY = current.y + dir[1];
+                int newX = x + dir[0];
+                int newY = y + dir[1];
                 
                 if (isValidMove(grid, newX, newY)) {
-                    int newWater = current.water;
-                    if (grid[current.x][current.y] != 'T' || grid[newX][newY] != 'T') {
+                    int newWater = water;
+                    if (grid[x][y] != 'T' || grid[newX][newY] != 'T') {
                         newWater++;
                     }
                     
                     if (newWater < waterConsumption[newX][newY]) {
                         waterConsumption[newX][newY] = newWater;
-                        pq.offer(new Node(newX, newY, newWater));
+                        pq.update(newX * n + newY, newWater);
                     }
                 }
             }
@@ -61,21 +66,6 @@ public class Main {
         return -1;
     }
 
-    static class Node implements Comparable<Node> {
-        int x, y, water;
-
-        Node(int x, int y, int water) {
-            this.x = x;
-            this.y = y;
-            this.water = water;
-        }
-
-        @Override
-        public int compareTo(Node other) {
-            return Integer.compare(this.water, other.water);
-        }
-    }
-
     private static boolean isValidMove(char[][] grid, int x, int y) {
         return x >= 0 && x < grid.length && y >= 0 && y < grid.length && grid[x][y] != 'M';
     }
@@ -11,6 +11,11 @@ public class SegmentTree {
         Node left;
         Node right;
 
+        // range updates that stopped here and still have to go to the children
+        int lazyAdd;
+        boolean assigned;
+        int assignValue;
+
         public Node(int startInterval, int endInterval){
             this.startInterval=startInterval;
             this.endInterval=endInterval;
@@ -85,6 +90,7 @@ public class SegmentTree {
             // completely outside
             return 0;
         } else {
+            push(node);
             return this.query(node.left, qsi, qei) + this.query(node.right, qsi, qei);
         }
     }
@@ -99,6 +105,7 @@ public class SegmentTree {
                 node.data = value;
                 return node.data;
             } else {
+                push(node);
                 int leftAns = update(node.left, index, value);
                 int rightAns = update(node.right, index, value);
                 node.data = leftAns + rightAns;
@@ -107,4 +114,65 @@ public class SegmentTree {
         }
         return node.data;
     }
+
+    // range updates with lazy propagation, O(log n) instead of one point update per index
+    // a node that lies completely inside the range is updated as a whole and remembers the change,
+    // which only goes down to its children when a later query or update has to look below it
+    public void rangeAdd(int qsi, int qei, int delta) {
+        rangeUpdate(this.root, qsi, qei, delta, false);
+    }
+
+    public void rangeAssign(int qsi, int qei, int value) {
+        rangeUpdate(this.root, qsi, qei, value, true);
+    }
+
+    private void rangeUpdate(Node node, int qsi, int qei, int value, boolean assign) {
+        if(node.startInterval > qei || node.endInterval < qsi) {
+            // completely outside
+            return;
+        }
+        if(node.startInterval >= qsi && node.endInterval <= qei) {
+            // completely inside
+            if(assign) {
+                applyAssign(node, value);
+            } else {
+                applyAdd(node, value);
+            }
+            return;
+        }
+        push(node);
+        rangeUpdate(node.left, qsi, qei, value, assign);
+        rangeUpdate(node.right, qsi, qei, value, assign);
+        node.data = node.left.data + node.right.data;
+    }
+
+    private void applyAssign(Node node, int value) {
+        node.data = value * (node.endInterval - node.startInterval + 1);
+        node.assigned = true;
+        node.assignValue = value;
+        node.lazyAdd = 0;
+    }
+
+    private void applyAdd(Node node, int delta) {
+        node.data += delta * (node.endInterval - node.startInterval + 1);
+        if(node.assigned) {
+            node.assignValue += delta;
+        } else {
+            node.lazyAdd += delta;
+        }
+    }
+
+    // hands the pending changes of an inner node to its children, an assign first, then an add on top
+    private void push(Node node) {
+        if(node.assigned) {
+            applyAssign(node.left, node.assignValue);
+            applyAssign(node.right, node.assignValue);
+            node.assigned = false;
+        }
+        if(node.lazyAdd != 0) {
+            applyAdd(node.left, node.lazyAdd);
+            applyAdd(node.right, node.lazyAdd);
+            node.lazyAdd = 0;
+        }
+    }
 }
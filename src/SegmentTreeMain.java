@@ -1,3 +1,5 @@
+import java.util.Random;
+
 public class SegmentTreeMain {
     public static void main(String[] args) {
         int[] arr = {3, 8, 6, 7, -2, -8, 4, 9};
@@ -5,5 +7,44 @@ public class SegmentTreeMain {
         // tree.display();
 
         System.out.println(tree.query(1, 6));
+
+        tree.rangeAdd(0, 3, 5);
+        tree.rangeAssign(5, 7, 1);
+        System.out.println(tree.query(1, 6));
+
+        // the same range updates on a plain array, every sum has to match
+        Random random = new Random(1);
+        int n = 100;
+        int[] naive = new int[n];
+        SegmentTree checked = new SegmentTree(naive);
+        for (int op = 0; op < 100_000; op++) {
+            int l = random.nextInt(n);
+            int r = l + random.nextInt(n - l);
+            int value = random.nextInt(200) - 100;
+            int kind = random.nextInt(4);
+            if (kind == 0) {
+                checked.rangeAdd(l, r, value);
+                for (int i = l; i <= r; i++) {
+                    naive[i] += value;
+                }
+            } else if (kind == 1) {
+                checked.rangeAssign(l, r, value);
+                for (int i = l; i <= r; i++) {
+                    naive[i] = value;
+                }
+            } else if (kind == 2) {
+                checked.update(l, value);
+                naive[l] = value;
+            } else {
+                int sum = 0;
+                for (int i = l; i <= r; i++) {
+                    sum += naive[i];
+                }
+                if (checked.query(l, r) != sum) {
+                    throw new IllegalStateException("SegmentTree differs from the array at [" + l + ", " + r + "]!");
+                }
+            }
+        }
+        System.out.println("range updates match the array");
     }
 }
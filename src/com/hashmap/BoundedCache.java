@@ -0,0 +1,334 @@
+package com.hashmap;
+
+import java.util.function.ToIntBiFunction;
+
+// a HashMapFinal from key to node plus intrusive doubly linked recency lists, all operations O(1)
+// plain mode is LRU. with tinyLfu a small LRU window sits in front of the main LRU and an entry
+// pushed out of the window only gets into the main list if it has been used more often than the
+// main list's victim, according to a count min sketch (W-TinyLFU)
+class BoundedCache<K, V> {
+    // share of the maximum weight given to the window in tinyLfu mode
+    private static final int WINDOW_PERCENT = 1;
+
+    private final HashMapFinal<K, Node> map;
+    private final ToIntBiFunction<K, V> weigher;
+
+    private final RecencyList window = new RecencyList();
+    private final RecencyList main = new RecencyList();
+    private final long maximum;
+    private final long windowMaximum;
+    private final long mainMaximum;
+
+    // null in LRU mode
+    private final FrequencySketch sketch;
+    // the key of the last get if it missed. the put that usually follows is the same access
+    // and must not be counted a second time
+    private K counted;
+
+    private int size = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public BoundedCache(long maxEntries) {
+        this(maxEntries, (key, value) -> 1, false);
+    }
+
+    public BoundedCache(long maxEntries, boolean tinyLfu) {
+        this(maxEntries, (key, value) -> 1, tinyLfu);
+    }
+
+    public BoundedCache(long maxWeight, ToIntBiFunction<K, V> weigher, boolean tinyLfu) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight has to be positive!");
+        }
+
+        this.map = new HashMapFinal<>(true);
+        this.weigher = weigher;
+        this.maximum = maxWeight;
+
+        if (tinyLfu) {
+            this.windowMaximum = Math.max(1, maxWeight * WINDOW_PERCENT / 100);
+            this.mainMaximum = maxWeight - windowMaximum;
+            this.sketch = new FrequencySketch(maxWeight);
+        } else {
+            this.windowMaximum = maxWeight;
+            this.mainMaximum = 0;
+            this.sketch = null;
+        }
+    }
+
+    public V get(K key) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
+        Node node = map.get(key);
+        if (node == null) {
+            counted = key;
+            misses++;
+            return null;
+        }
+
+        counted = null;
+        hits++;
+        listOf(node).moveToFront(node);
+        return node.value;
+    }
+
+    public void put(K key, V value) {
+        if (sketch != null && !key.equals(counted)) {
+            sketch.increment(key);
+        }
+        counted = null;
+
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight can not be negative!");
+        }
+
+        Node node = map.get(key);
+        if (node != null) {
+            RecencyList list = listOf(node);
+            list.weight += weight - node.weight;
+            node.value = value;
+            node.weight = weight;
+            list.moveToFront(node);
+        } else {
+            node = new Node(key, value, weight);
+            map.put(key, node);
+            window.addFirst(node);
+            size++;
+        }
+
+        evict();
+    }
+
+    public void remove(K key) {
+        Node node = map.get(key);
+        if (node == null) {
+            return;
+        }
+        listOf(node).remove(node);
+        map.remove(key);
+        size--;
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long weight() {
+        return window.weight + main.weight;
+    }
+
+    public long maximum() {
+        return maximum;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long evictions() {
+        return evictions;
+    }
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    private RecencyList listOf(Node node) {
+        return node.inWindow ? window : main;
+    }
+
+    private void evict() {
+        while (window.weight > windowMaximum) {
+            Node candidate = window.last();
+            window.remove(candidate);
+
+            if (sketch == null) {
+                drop(candidate);
+            } else {
+                admit(candidate);
+            }
+        }
+
+        // an update may have made an entry of the main list heavier
+        while (main.weight > mainMaximum) {
+            Node victim = main.last();
+            main.remove(victim);
+            drop(victim);
+        }
+    }
+
+    // the candidate and the main list's least recently used entry fight until one of them is gone
+    private void admit(Node candidate) {
+        if (candidate.weight > mainMaximum) {
+            drop(candidate);
+            return;
+        }
+
+        while (main.weight + candidate.weight > mainMaximum) {
+            Node victim = main.last();
+            if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                drop(candidate);
+                return;
+            }
+            main.remove(victim);
+            drop(victim);
+        }
+
+        candidate.inWindow = false;
+        main.addFirst(candidate);
+    }
+
+    private void drop(Node node) {
+        map.remove(node.key);
+        size--;
+        evictions++;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        append(builder, window);
+        append(builder, main);
+        builder.append("]");
+
+        return builder.toString();
+    }
+
+    private void append(StringBuilder builder, RecencyList list) {
+        for (Node node = list.head.next; node != list.head; node = node.next) {
+            builder.append(node.key);
+            builder.append(" = ");
+            builder.append(node.value);
+            builder.append(" , ");
+        }
+    }
+
+    private class Node {
+        K key;
+        V value;
+        int weight;
+        boolean inWindow = true;
+
+        Node prev;
+        Node next;
+
+        public Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    // circular list around a sentinel, most recently used first
+    private class RecencyList {
+        private final Node head = new Node(null, null, 0);
+        private long weight = 0;
+
+        public RecencyList() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        public void addFirst(Node node) {
+            node.prev = head;
+            node.next = head.next;
+            head.next.prev = node;
+            head.next = node;
+            weight += node.weight;
+        }
+
+        public void remove(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        public void moveToFront(Node node) {
+            if (head.next == node) {
+                return;
+            }
+            remove(node);
+            addFirst(node);
+        }
+
+        public Node last() {
+            return head.prev == head ? null : head.prev;
+        }
+    }
+
+    // four rows of saturating counters, the estimate is the smallest of the four
+    // all counters are halved every sampleSize increments so old popularity fades out
+    private static class FrequencySketch {
+        private static final int ROWS = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x97cb3127, 0x0b8b4c6d, 0x7f4a7c15, 0x5bd1e995};
+
+        private final int[][] table;
+        private final int mask;
+        private final long sampleSize;
+        private long additions = 0;
+
+        public FrequencySketch(long maximum) {
+            int width = 16;
+            while (width < maximum && width < (1 << 24)) {
+                width <<= 1;
+            }
+            table = new int[ROWS][width];
+            mask = width - 1;
+            sampleSize = 10L * width;
+        }
+
+        private int index(Object key, int row) {
+            int h = key.hashCode() * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        public int frequency(Object key) {
+            int min = MAX_COUNT;
+            for (int row = 0; row < ROWS; row++) {
+                min = Math.min(min, table[row][index(key, row)]);
+            }
+            return min;
+        }
+
+        public void increment(Object key) {
+            for (int row = 0; row < ROWS; row++) {
+                int i = index(key, row);
+                if (table[row][i] < MAX_COUNT) {
+                    table[row][i]++;
+                }
+            }
+
+            if (++additions == sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+    }
+}
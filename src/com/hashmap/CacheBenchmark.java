@@ -0,0 +1,59 @@
+package com.hashmap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// replays Zipfian access traces against BoundedCache in LRU and W-TinyLFU mode
+// every miss is followed by a put, like a memoization cache would do
+class CacheBenchmark {
+    private static final int UNIVERSE = 1_000_000;
+    private static final int ACCESSES = 5_000_000;
+    private static final double[] SKEWS = {0.8, 0.99, 1.2};
+    private static final int[] CAPACITIES = {1_000, 10_000, 100_000};
+
+    public static void main(String[] args) {
+        for (double skew : SKEWS) {
+            int[] trace = zipfTrace(skew, new Random(7));
+            System.out.println("zipf s=" + skew);
+
+            for (int capacity : CAPACITIES) {
+                String lru = replay(new BoundedCache<>(capacity), trace);
+                String tinyLfu = replay(new BoundedCache<>(capacity, true), trace);
+                System.out.printf("  %,8d entries  lru: %s  w-tinylfu: %s%n", capacity, lru, tinyLfu);
+            }
+        }
+    }
+
+    private static String replay(BoundedCache<Integer, Integer> cache, int[] trace) {
+        long start = System.nanoTime();
+        for (int key : trace) {
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        long time = System.nanoTime() - start;
+
+        return String.format("hit rate %5.1f%% %,11.0f ops/s %,10d evictions",
+                cache.hitRate() * 100, trace.length / (time / 1e9), cache.evictions());
+    }
+
+    // rank r is drawn with probability proportional to 1 / r^skew, ranks are scattered over the key space
+    private static int[] zipfTrace(double skew, Random random) {
+        double[] cdf = new double[UNIVERSE];
+        double sum = 0;
+        for (int i = 0; i < UNIVERSE; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+
+        int[] trace = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            trace[i] = rank * 0x9E3779B1;
+        }
+        return trace;
+    }
+}
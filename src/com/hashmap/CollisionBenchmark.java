@@ -0,0 +1,125 @@
+package com.hashmap;
+
+import java.util.LinkedList;
+
+// lookups on keys that all land in the same bucket
+// with treeified buckets the cost per get should grow like log n, a plain chain grows like n
+class CollisionBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    // 200 different hash codes, all multiples of every table size up to 10 * 2^20,
+    // so Math.abs(hashCode % size) puts every key in bucket 0
+    static class ClusteredKey implements Comparable<ClusteredKey> {
+        final int id;
+
+        ClusteredKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return (id % 200) * 10 * (1 << 20);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ClusteredKey && ((ClusteredKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(ClusteredKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    // the worst case, one hash code for everything, only compareTo is left to order the tree
+    static class ConstantKey implements Comparable<ConstantKey> {
+        final int id;
+
+        ConstantKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ConstantKey && ((ConstantKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(ConstantKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    public static void main(String[] args) {
+        for (int n : SIZES) {
+            Object[] clustered = new Object[n];
+            Object[] constant = new Object[n];
+            for (int i = 0; i < n; i++) {
+                clustered[i] = new ClusteredKey(i);
+                constant[i] = new ConstantKey(i);
+            }
+
+            System.out.printf("%,8d keys  clustered: %8.1f ns/get  constant: %8.1f ns/get  linked list scan: %10.1f ns/get%n",
+                    n, map(clustered), map(constant), chain(constant));
+        }
+    }
+
+    private static double map(Object[] keys) {
+        HashMapFinal<Object, Integer> map = new HashMapFinal<>(true);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+
+        int lookups = 1_000_000;
+        long hits = 0;
+        int index = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            index = (index + 7919) % keys.length;
+            if (map.get(keys[index]) != null) {
+                hits++;
+            }
+        }
+        long time = System.nanoTime() - start;
+
+        if (hits != lookups) {
+            throw new IllegalStateException("lost keys: " + (lookups - hits));
+        }
+        return (double) time / lookups;
+    }
+
+    // what every get used to cost once all keys shared one bucket
+    private static double chain(Object[] keys) {
+        LinkedList<Object> chain = new LinkedList<>();
+        for (Object key : keys) {
+            chain.add(key);
+        }
+
+        int lookups = Math.max(1000, 10_000_000 / keys.length);
+        long hits = 0;
+        int index = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            index = (index + 7919) % keys.length;
+            Object key = keys[index];
+            for (Object entity : chain) {
+                if (entity.equals(key)) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        long time = System.nanoTime() - start;
+
+        if (hits != lookups) {
+            throw new IllegalStateException("lost keys: " + (lookups - hits));
+        }
+        return (double) time / lookups;
+    }
+}
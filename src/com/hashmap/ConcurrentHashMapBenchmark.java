@@ -0,0 +1,109 @@
+package com.hashmap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// throughput of ConcurrentHashMapFinal against a synchronized HashMapFinal
+// for growing thread counts and different read / write mixes
+class ConcurrentHashMapBenchmark {
+    private static final int KEYS = 1 << 20;
+    private static final long DURATION_MS = 1000;
+    private static final int[] READ_PERCENT = {50, 90, 99};
+
+    interface Target {
+        void put(Integer key, Integer value);
+
+        Integer get(Integer key);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        Integer[] keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i;
+        }
+
+        for (int reads : READ_PERCENT) {
+            System.out.println(reads + "% reads");
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                double locked = run(lockedMap(keys), keys, threads, reads);
+                double concurrent = run(concurrentMap(keys), keys, threads, reads);
+                System.out.printf("  %3d threads  synchronized: %,14.0f ops/s  concurrent: %,14.0f ops/s%n",
+                        threads, locked, concurrent);
+            }
+        }
+    }
+
+    private static Target lockedMap(Integer[] keys) {
+        HashMapFinal<Integer, Integer> map = new HashMapFinal<>(true);
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return new Target() {
+            public synchronized void put(Integer key, Integer value) {
+                map.put(key, value);
+            }
+
+            public synchronized Integer get(Integer key) {
+                return map.get(key);
+            }
+        };
+    }
+
+    private static Target concurrentMap(Integer[] keys) {
+        ConcurrentHashMapFinal<Integer, Integer> map = new ConcurrentHashMapFinal<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return new Target() {
+            public void put(Integer key, Integer value) {
+                map.put(key, value);
+            }
+
+            public Integer get(Integer key) {
+                return map.get(key);
+            }
+        };
+    }
+
+    private static double run(Target map, Integer[] keys, int threads, int reads) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.currentTimeMillis() + DURATION_MS;
+                long count = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    // check the clock every batch instead of every operation
+                    for (int i = 0; i < 1000; i++) {
+                        Integer key = keys[random.nextInt(KEYS)];
+                        if (random.nextInt(100) < reads) {
+                            map.get(key);
+                        } else {
+                            map.put(key, key);
+                        }
+                    }
+                    count += 1000;
+                }
+                ops.add(count);
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() / (DURATION_MS / 1000.0);
+    }
+}
@@ -0,0 +1,305 @@
+package com.hashmap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// reads never lock: bins are volatile and chains only change under the lock of their head node
+// an empty bin is filled with a CAS, a non empty one is locked on its head
+// resizing is shared, every thread that runs into it claims a stride of bins and moves them
+class ConcurrentHashMapFinal<K, V> {
+    private static final int MOVED = -1;
+    private static final int STRIDE = 16;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private volatile AtomicReferenceArray<Node> table;
+
+    // non null while a resize is running
+    private volatile Transfer transfer;
+    private final Object resizeLock = new Object();
+
+    private final LongAdder size = new LongAdder();
+
+    private float lf = 0.75f;
+
+    public ConcurrentHashMapFinal() {
+        table = new AtomicReferenceArray<>(DEFAULT_CAPACITY);
+    }
+
+    // never negative, so it can not clash with MOVED
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & 0x7fffffff;
+    }
+
+    public V get(K key) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node> tab = table;
+
+        while (true) {
+            Node node = tab.get(hash & (tab.length() - 1));
+            if (node == null) {
+                return null;
+            }
+            if (node.hash == MOVED) {
+                tab = ((ForwardingNode) node).nextTable;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hash && node.key.equals(key)) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    public void put(K key, V value) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node> tab = table;
+        boolean chained;
+
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node head = tab.get(index);
+
+            if (head == null) {
+                if (tab.compareAndSet(index, null, new Node(hash, key, value, null))) {
+                    chained = false;
+                    break;
+                }
+            } else if (head.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode) head);
+            } else {
+                synchronized (head) {
+                    // the head may have been removed or moved while we were waiting
+                    if (tab.get(index) != head) {
+                        continue;
+                    }
+                    Node node = head;
+                    while (true) {
+                        if (node.hash == hash && node.key.equals(key)) {
+                            node.value = value;
+                            return;
+                        }
+                        if (node.next == null) {
+                            node.next = new Node(hash, key, value, null);
+                            break;
+                        }
+                        node = node.next;
+                    }
+                }
+                chained = true;
+                break;
+            }
+        }
+
+        size.increment();
+
+        // summing the counter is not free, only do it once bins start to collide
+        if (chained && size.sum() > threshold(tab)) {
+            resize(tab);
+        }
+    }
+
+    public void remove(K key) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node> tab = table;
+
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node head = tab.get(index);
+
+            if (head == null) {
+                return;
+            }
+            if (head.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode) head);
+                continue;
+            }
+
+            synchronized (head) {
+                if (tab.get(index) != head) {
+                    continue;
+                }
+                Node prev = null;
+                for (Node node = head; node != null; prev = node, node = node.next) {
+                    if (node.hash == hash && node.key.equals(key)) {
+                        if (prev == null) {
+                            tab.set(index, node.next);
+                        } else {
+                            prev.next = node.next;
+                        }
+                        size.decrement();
+                        return;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return (int) size.sum();
+    }
+
+    private long threshold(AtomicReferenceArray<Node> tab) {
+        return (long) (tab.length() * lf);
+    }
+
+    private void resize(AtomicReferenceArray<Node> tab) {
+        Transfer current;
+        synchronized (resizeLock) {
+            current = transfer;
+            if (current == null) {
+                // someone else may have grown the table already
+                if (tab != table || size.sum() <= threshold(tab)) {
+                    return;
+                }
+                current = new Transfer(tab);
+                transfer = current;
+            }
+        }
+        help(current);
+    }
+
+    private AtomicReferenceArray<Node> helpTransfer(ForwardingNode forward) {
+        Transfer current = transfer;
+        if (current != null && current.to == forward.nextTable) {
+            help(current);
+        }
+        return forward.nextTable;
+    }
+
+    private void help(Transfer current) {
+        int n = current.from.length();
+
+        while (true) {
+            int start = current.nextIndex.getAndAdd(STRIDE);
+            if (start >= n) {
+                return;
+            }
+
+            int end = Math.min(start + STRIDE, n);
+            for (int i = start; i < end; i++) {
+                moveBin(current, i);
+            }
+
+            if (current.remaining.addAndGet(start - end) == 0) {
+                synchronized (resizeLock) {
+                    table = current.to;
+                    transfer = null;
+                }
+                return;
+            }
+        }
+    }
+
+    private void moveBin(Transfer current, int index) {
+        AtomicReferenceArray<Node> from = current.from;
+        AtomicReferenceArray<Node> to = current.to;
+        int n = from.length();
+
+        while (true) {
+            Node head = from.get(index);
+
+            if (head == null) {
+                if (from.compareAndSet(index, null, current.forward)) {
+                    return;
+                }
+                continue;
+            }
+
+            synchronized (head) {
+                if (from.get(index) != head) {
+                    continue;
+                }
+
+                // copy instead of relinking so readers still walking the old chain are not disturbed
+                Node low = null;
+                Node high = null;
+                for (Node node = head; node != null; node = node.next) {
+                    if ((node.hash & n) == 0) {
+                        low = new Node(node.hash, node.key, node.value, low);
+                    } else {
+                        high = new Node(node.hash, node.key, node.value, high);
+                    }
+                }
+
+                to.set(index, low);
+                to.set(index + n, high);
+                from.set(index, current.forward);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{");
+        AtomicReferenceArray<Node> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            Node node = tab.get(i);
+            if (node != null && node.hash == MOVED) {
+                // a resize is running, the new table has the same content
+                tab = ((ForwardingNode) node).nextTable;
+                builder.setLength(1);
+                i = -1;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                builder.append(node.key);
+                builder.append(" = ");
+                builder.append(node.value);
+                builder.append(" , ");
+            }
+        }
+        builder.append("}");
+
+        return builder.toString();
+    }
+
+    private class Node {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node next;
+
+        public Node(int hash, K key, V value, Node next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private class ForwardingNode extends Node {
+        final AtomicReferenceArray<Node> nextTable;
+
+        public ForwardingNode(AtomicReferenceArray<Node> nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    private class Transfer {
+        final AtomicReferenceArray<Node> from;
+        final AtomicReferenceArray<Node> to;
+        final ForwardingNode forward;
+
+        // next bin to hand out and bins not moved yet
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final AtomicInteger remaining;
+
+        public Transfer(AtomicReferenceArray<Node> from) {
+            this.from = from;
+            this.to = new AtomicReferenceArray<>(from.length() * 2);
+            this.forward = new ForwardingNode(to);
+            this.remaining = new AtomicInteger(from.length());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hashmap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+// several writers fill a ConcurrentHashMapFinal that starts at its smallest table, so it has to grow
+// many times while they keep putting, overwriting and removing. every thread runs into the forwarding
+// nodes and helps with the transfer, and checks on the way that its own keys survived the moves
+// after each round every key is compared against the value it has to end up with
+class ConcurrentHashMapStress {
+    private static final int ROUNDS = 20;
+    private static final int WRITERS = 4;
+    private static final int KEYS_PER_WRITER = 50_000;
+    private static final int KEYS = WRITERS * KEYS_PER_WRITER;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            ConcurrentHashMapFinal<Integer, Integer> map = new ConcurrentHashMapFinal<>();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] writers = new Thread[WRITERS];
+
+            for (int t = 0; t < WRITERS; t++) {
+                int writer = t;
+                writers[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                        write(map, writer);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+                writers[t].start();
+            }
+
+            start.countDown();
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            if (failure.get() != null) {
+                throw new IllegalStateException("Writer failed in round " + round + "!", failure.get());
+            }
+
+            int size = 0;
+            for (int key = 0; key < KEYS; key++) {
+                Integer value = expected(key);
+                check(same(map.get(key), value), "get " + key + " in round " + round);
+                if (value != null) {
+                    size++;
+                }
+            }
+            check(map.size() == size, "size in round " + round);
+        }
+
+        System.out.println("ok, " + ROUNDS + " rounds of " + WRITERS + " writers with " + KEYS_PER_WRITER + " keys each");
+    }
+
+    // the writers' keys interleave, so neighbouring bins belong to different threads
+    private static void write(ConcurrentHashMapFinal<Integer, Integer> map, int writer) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < KEYS_PER_WRITER; i++) {
+            int key = i * WRITERS + writer;
+            map.put(key, key);
+            if (key % 3 == 0) {
+                map.remove(key);
+            } else if (key % 3 == 1) {
+                map.put(key, -key);
+            }
+
+            // one of the keys this writer is done with, it may have been moved since
+            int earlier = random.nextInt(i + 1) * WRITERS + writer;
+            check(same(map.get(earlier), expected(earlier)), "get " + earlier + " while writing");
+        }
+    }
+
+    // what a key ends up as once its writer is done with it
+    private static Integer expected(int key) {
+        switch (key % 3) {
+            case 0:
+                return null;
+            case 1:
+                return -key;
+            default:
+                return key;
+        }
+    }
+
+    private static boolean same(Integer a, Integer b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("ConcurrentHashMapFinal lost track of a key at " + what + "!");
+        }
+    }
+}
@@ -1,55 +1,153 @@
 package com.hashmap;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class HashMapFinal<K, V> {
-    ArrayList<LinkedList<Entity>> list;
+    ArrayList<Bucket> list;
+
+    // table being drained into list while an incremental rehash is running
+    private ArrayList<Bucket> old;
+    private int rehashIndex = 0;
+
+    // buckets migrated per operation
+    private static final int REHASH_STEP = 4;
+
+    // a bucket becomes a tree above this many entities and a list again at or below the second
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    private final boolean incremental;
 
     private int size = 0;
 
     private float lf = 0.5f;
 
     public HashMapFinal() {
+        this(false);
+    }
+
+    public HashMapFinal(boolean incremental) {
+        this.incremental = incremental;
         list = new ArrayList<>();
         for(int i=0; i < 10; i++) {
-            list.add(new LinkedList<>());
+            list.add(new Bucket());
         }
     }
 
-    public void put(K key, V value) {
-        int hash = Math.abs(key.hashCode() % list.size());
+    private Bucket bucket(ArrayList<Bucket> table, K key) {
+        return table.get(Math.abs(key.hashCode() % table.size()));
+    }
 
-        LinkedList<Entity> entities = list.get(hash);
+    private Entity find(Bucket entities, K key) {
+        if(entities == null) {
+            // bucket has already been migrated
+            return null;
+        }
+        return entities.find(key, key.hashCode());
+    }
 
-        for (Entity entity : entities) {
-            if(entity.key.equals(key)) {
-                entity.value = value;
-                return;
-            }
+    // looks in the new table first, then in the one still being drained
+    private Entity find(K key) {
+        Entity entity = find(bucket(list, key), key);
+        if(entity == null && old != null) {
+            entity = find(bucket(old, key), key);
+        }
+        return entity;
+    }
+
+    public void put(K key, V value) {
+        rehashStep();
+
+        Entity entity = find(key);
+        if(entity != null) {
+            entity.value = value;
+            return;
         }
 
         if((float)(size) / list.size() > lf) {
-            reHash();
+            if(incremental) {
+                startRehash();
+            } else {
+                reHash();
+            }
         }
 
-        entities.add(new Entity(key, value));
+        add(list, new Entity(key, value));
 
         size++;
     }
 
+    public boolean isRehashing() {
+        return old != null;
+    }
+
+    private void startRehash() {
+        // a resize can not start before the previous one has drained
+        while(old != null) {
+            migrate(old.size());
+        }
+
+        old = list;
+        rehashIndex = 0;
+
+        // buckets are created on first use so starting a resize stays cheap
+        list = new ArrayList<>(Collections.nCopies(old.size() * 2, null));
+    }
+
+    private void add(ArrayList<Bucket> table, Entity entity) {
+        int hash = Math.abs(entity.key.hashCode() % table.size());
+        Bucket entities = table.get(hash);
+        if(entities == null) {
+            entities = new Bucket();
+            table.set(hash, entities);
+        }
+        entities.add(entity);
+    }
+
+    private void rehashStep() {
+        if(old != null) {
+            migrate(REHASH_STEP);
+        }
+    }
+
+    private void migrate(int buckets) {
+        for(int i=0; i<buckets && rehashIndex < old.size(); i++) {
+            Bucket entities = old.get(rehashIndex);
+            if(entities != null) {
+                for(Entity entity : entities) {
+                    add(list, entity);
+                }
+            }
+            old.set(rehashIndex, null);
+            rehashIndex++;
+        }
+
+        if(rehashIndex == old.size()) {
+            old = null;
+        }
+    }
+
     private void reHash() {
         System.out.println("We are now rehashing!");
 
-        ArrayList<LinkedList<Entity>> old = list;
+        ArrayList<Bucket> old = list;
         list = new ArrayList<>();
 
         size = 0;
 
         for(int i=0; i<old.size() * 2; i++) {
-            list.add(new LinkedList<>());
+            list.add(new Bucket());
         }
 
-        for(LinkedList<Entity> entries :old) {
+        for(Bucket entries :old) {
+            if(entries == null) {
+                // ensureCapacity leaves the buckets it did not need null, not empty
+                continue;
+            }
             for(Entity entry : entries) {
                 put(entry.key, entry.value);
             }
@@ -57,42 +155,148 @@ public class HashMapFinal<K, V> {
     }
 
     public V get(K key) {
-        int hash = Math.abs(key.hashCode() % list.size());
-        LinkedList<Entity> entities = list.get(hash);
-        for(Entity entity : entities) {
-            if(entity.key.equals(key)) {
-                return entity.value;
-            }
-        }
-        return null;
+        rehashStep();
+
+        Entity entity = find(key);
+        return entity == null ? null : entity.value;
     }
 
     public void remove(K key) {
-        int hash = Math.abs(key.hashCode() % list.size());
-        LinkedList<Entity> entities = list.get(hash);
+        rehashStep();
 
-        Entity target = null;
+        Bucket entities = bucket(list, key);
+        Entity target = find(entities, key);
 
-        for(Entity entity : entities) {
-            if(entity.key.equals(key)) {
-                target = entity;
-                break;
-            }
+        if(target == null && old != null) {
+            entities = bucket(old, key);
+            target = find(entities, key);
         }
 
-        entities.remove(target);
-        size--;
+        if(target != null) {
+            entities.remove(target);
+            size--;
+        }
     }
 
     public boolean containsKey(K key) {
         return get(key) != null;
     }
 
+    public int size() {
+        return size;
+    }
+
+    public void putAll(HashMapFinal<? extends K, ? extends V> other) {
+        ensureCapacity(size + other.size());
+        other.forEach(this::put);
+    }
+
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureCapacity(size + other.size());
+        for(Map.Entry<? extends K, ? extends V> entry : other.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // grows the table in a single pass so that expected entries fit without another resize
+    public void ensureCapacity(int expected) {
+        finishRehash();
+
+        int buckets = list.size();
+        while((float)(expected) / buckets > lf) {
+            buckets *= 2;
+        }
+        if(buckets == list.size()) {
+            return;
+        }
+
+        ArrayList<Bucket> old = list;
+        list = new ArrayList<>(Collections.nCopies(buckets, null));
+        for(Bucket entities : old) {
+            if(entities == null) {
+                continue;
+            }
+            for(Entity entity : entities) {
+                add(list, entity);
+            }
+        }
+    }
+
+    private void finishRehash() {
+        while(old != null) {
+            migrate(old.size());
+        }
+    }
+
+    // values in the same order as the keys, null where a key is missing
+    // the lookups are sorted by bucket first so each bucket is visited once in table order
+    public List<V> getAll(List<K> keys) {
+        finishRehash();
+
+        int n = keys.size();
+        long[] order = new long[n];
+        for(int i=0; i<n; i++) {
+            long bucket = Math.abs(keys.get(i).hashCode() % list.size());
+            order[i] = (bucket << 32) | i;
+        }
+        Arrays.sort(order);
+
+        List<V> values = new ArrayList<>(Collections.nCopies(n, null));
+        for(long packed : order) {
+            int i = (int) packed;
+            K key = keys.get(i);
+            Entity entity = find(list.get((int) (packed >>> 32)), key);
+            if(entity != null) {
+                values.set(i, entity.value);
+            }
+        }
+        return values;
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        finishRehash();
+
+        for(Bucket entities : list) {
+            if(entities == null) {
+                continue;
+            }
+            for(Entity entity : entities) {
+                action.accept(entity.key, entity.value);
+            }
+        }
+    }
+
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        finishRehash();
+        return new BucketSpliterator(list, 0, list.size(), size);
+    }
+
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("{");
-        for(LinkedList<Entity> entities : list) {
+        append(builder, list);
+        if(old != null) {
+            append(builder, old);
+        }
+        builder.append("}");
+
+        return builder.toString();
+    }
+
+    private void append(StringBuilder builder, ArrayList<Bucket> table) {
+        for(Bucket entities : table) {
+            if(entities == null) {
+                continue;
+            }
             for(Entity entity : entities) {
                 builder.append(entity.key);
                 builder.append(" = ");
@@ -100,19 +304,362 @@ public class HashMapFinal<K, V> {
                 builder.append(" , ");
             }
         }
-        builder.append("}");
-
-        return builder.toString();
     }
 
-    private class Entity {
+    private class Entity implements Map.Entry<K, V> {
         K key;
         V value;
+        int hash;
+
+        // tree links, only used once the bucket has been treeified
+        Entity left;
+        Entity right;
+        int height;
 
         public Entity(K key, V value) {
             this.key = key;
             this.value = value;
+            this.hash = key.hashCode();
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+            return previous;
+        }
+
+        // as Map.Entry specifies, so entities compare equal to the JDK's entries
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, other.getKey()) && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+    }
+
+    // walks the buckets in [index, fence), splitting hands half of the remaining range to another thread
+    private class BucketSpliterator implements Spliterator<Map.Entry<K, V>> {
+        private final ArrayList<Bucket> table;
+        private int index;
+        private final int fence;
+        private long estimate;
+        private Iterator<Entity> current;
+
+        public BucketSpliterator(ArrayList<Bucket> table, int index, int fence, long estimate) {
+            this.table = table;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            while(current == null || !current.hasNext()) {
+                if(index >= fence) {
+                    return false;
+                }
+                Bucket entities = table.get(index++);
+                current = entities == null ? null : entities.iterator();
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+            if(current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            for(; index < fence; index++) {
+                Bucket entities = table.get(index);
+                if(entities == null) {
+                    continue;
+                }
+                for(Entity entity : entities) {
+                    action.accept(entity);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if(current != null || mid <= index) {
+                return null;
+            }
+            estimate >>>= 1;
+            BucketSpliterator prefix = new BucketSpliterator(table, index, mid, estimate);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+    }
+
+    // a plain chain that turns into an AVL tree ordered by hash code once it gets too long,
+    // so a bucket full of colliding keys still answers in O(log n)
+    private class Bucket implements Iterable<Entity> {
+        // null while the bucket is a tree
+        private LinkedList<Entity> entities = new LinkedList<>();
+        private Entity root;
+        private int count = 0;
+
+        public Entity find(K key, int hash) {
+            if(entities != null) {
+                for(Entity entity : entities) {
+                    if(entity.hash == hash && entity.key.equals(key)) {
+                        return entity;
+                    }
+                }
+                return null;
+            }
+            return find(root, key, hash);
+        }
+
+        public void add(Entity entity) {
+            // links may be left over from the bucket it was migrated out of
+            entity.left = null;
+            entity.right = null;
+            entity.height = 0;
+
+            count++;
+            if(entities != null) {
+                entities.add(entity);
+                if(count > TREEIFY_THRESHOLD) {
+                    treeify();
+                }
+            } else {
+                root = insert(root, entity);
+            }
+        }
+
+        public void remove(Entity target) {
+            count--;
+            if(entities != null) {
+                // by identity like the tree, equals now compares values too
+                entities.removeIf(entity -> entity == target);
+            } else {
+                root = delete(root, target);
+                if(count <= UNTREEIFY_THRESHOLD) {
+                    untreeify();
+                }
+            }
+        }
+
+        // a tree is copied out in order, so the entities can be re linked while iterating
+        public List<Entity> toList() {
+            if(entities != null) {
+                return entities;
+            }
+            List<Entity> result = new ArrayList<>(count);
+            collect(root, result);
+            return result;
+        }
+
+        @Override
+        public Iterator<Entity> iterator() {
+            return toList().iterator();
+        }
+
+        private void treeify() {
+            for(Entity entity : entities) {
+                entity.left = null;
+                entity.right = null;
+                entity.height = 0;
+                root = insert(root, entity);
+            }
+            entities = null;
+        }
+
+        private void untreeify() {
+            entities = new LinkedList<>();
+            collect(root, entities);
+            root = null;
+        }
+
+        private void collect(Entity node, List<Entity> result) {
+            if(node == null) {
+                return;
+            }
+            collect(node.left, result);
+            result.add(node);
+            collect(node.right, result);
+        }
+
+        private Entity find(Entity node, K key, int hash) {
+            while(node != null) {
+                if(hash != node.hash) {
+                    node = hash < node.hash ? node.left : node.right;
+                    continue;
+                }
+                if(node.key.equals(key)) {
+                    return node;
+                }
+                int c = compareKeys(key, node.key);
+                if(c != 0) {
+                    node = c < 0 ? node.left : node.right;
+                    continue;
+                }
+                // same hash and no usable ordering, the key can be on either side
+                Entity found = find(node.left, key, hash);
+                if(found != null) {
+                    return found;
+                }
+                node = node.right;
+            }
+            return null;
+        }
+
+        private Entity insert(Entity node, Entity entity) {
+            if(node == null) {
+                return entity;
+            }
+
+            if(compare(entity, node) < 0) {
+                node.left = insert(node.left, entity);
+            } else {
+                node.right = insert(node.right, entity);
+            }
+
+            return rotate(node);
+        }
+
+        private Entity delete(Entity node, Entity target) {
+            if(node == null) {
+                return null;
+            }
+
+            if(node == target) {
+                if(node.left == null) {
+                    return node.right;
+                }
+                if(node.right == null) {
+                    return node.left;
+                }
+                // relink the successor in place of the node, entities keep their identity
+                Entity successor = node.right;
+                while(successor.left != null) {
+                    successor = successor.left;
+                }
+                successor.right = delete(node.right, successor);
+                successor.left = node.left;
+                return rotate(successor);
+            }
+
+            int c = compare(target, node);
+            if(c < 0) {
+                node.left = delete(node.left, target);
+            } else if(c > 0) {
+                node.right = delete(node.right, target);
+            } else {
+                node.left = delete(node.left, target);
+                node.right = delete(node.right, target);
+            }
+
+            return rotate(node);
+        }
+
+        private int height(Entity node) {
+            return node == null ? -1 : node.height;
+        }
+
+        private void updateHeight(Entity node) {
+            node.height = Math.max(height(node.left), height(node.right)) + 1;
+        }
+
+        private Entity rotate(Entity node) {
+            updateHeight(node);
+            int balance = height(node.left) - height(node.right);
+
+            if(balance > 1) {
+                // left heavy
+                if(height(node.left.left) < height(node.left.right)) {
+                    node.left = leftRotate(node.left);
+                }
+                return rightRotate(node);
+            }
+
+            if(balance < -1) {
+                // right heavy
+                if(height(node.right.right) < height(node.right.left)) {
+                    node.right = rightRotate(node.right);
+                }
+                return leftRotate(node);
+            }
+
+            return node;
+        }
+
+        private Entity rightRotate(Entity p) {
+            Entity c = p.left;
+            p.left = c.right;
+            c.right = p;
+
+            updateHeight(p);
+            updateHeight(c);
+            return c;
+        }
+
+        private Entity leftRotate(Entity p) {
+            Entity c = p.right;
+            p.right = c.left;
+            c.left = p;
+
+            updateHeight(p);
+            updateHeight(c);
+            return c;
+        }
+    }
+
+    // total order for the tree: hash code, class name, compareTo when the class allows it, then identity
+    private int compare(Entity a, Entity b) {
+        if(a.hash != b.hash) {
+            return a.hash < b.hash ? -1 : 1;
+        }
+        int c = compareKeys(a.key, b.key);
+        if(c != 0) {
+            return c;
+        }
+        return Integer.compare(System.identityHashCode(a.key), System.identityHashCode(b.key));
+    }
+
+    // 0 means the keys can not be told apart without looking at both subtrees
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object a, Object b) {
+        if(a.getClass() != b.getClass()) {
+            return a.getClass().getName().compareTo(b.getClass().getName());
+        }
+        if(a instanceof Comparable) {
+            return ((Comparable) a).compareTo(b);
         }
+        return 0;
     }
 
 
@@ -0,0 +1,153 @@
+package com.hashmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+// random puts, removes and bulk loads against java.util.HashMap, in both resize modes
+// every round also does putAll into a fresh map and keeps putting until it has to grow again
+// and runs the same random operations on keys whose hash codes collide, so buckets keep crossing
+// the treeify and untreeify thresholds, once with keys that compare and once with keys that do not
+class HashMapFinalFuzzer {
+    private static final int ROUNDS = 50;
+    private static final int OPERATIONS = 5_000;
+
+    // only a few distinct hash codes, ties between them are left to compareTo
+    static class CollidingKey implements Comparable<CollidingKey> {
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 3;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
+
+        @Override
+        public String toString() {
+            return "CollidingKey " + id;
+        }
+    }
+
+    // same hash codes, but no ordering, so a tree bucket has to search both sides of a tie
+    static class UnorderedKey {
+        final int id;
+
+        UnorderedKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 3;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof UnorderedKey && ((UnorderedKey) o).id == id;
+        }
+
+        @Override
+        public String toString() {
+            return "UnorderedKey " + id;
+        }
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 7);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean incremental = round % 2 == 1;
+            randomOperations(random, incremental, Integer::valueOf, 1 + random.nextInt(2_000));
+            // a few dozen keys over three hash codes keep every bucket around the thresholds
+            randomOperations(random, incremental, CollidingKey::new, 10 + random.nextInt(50));
+            randomOperations(random, incremental, UnorderedKey::new, 10 + random.nextInt(50));
+            putAllThenGrow(random, incremental);
+        }
+
+        System.out.println("ok, " + ROUNDS + " rounds of " + OPERATIONS + " operations");
+    }
+
+    private static <K> void randomOperations(Random random, boolean incremental, IntFunction<K> keys, int range) {
+        HashMapFinal<K, Integer> map = new HashMapFinal<>(incremental);
+        Map<K, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            K key = keys.apply(random.nextInt(range));
+            switch (random.nextInt(4)) {
+                case 0:
+                    map.remove(key);
+                    expected.remove(key);
+                    break;
+                case 1:
+                    check(same(map.get(key), expected.get(key)), "get " + key);
+                    break;
+                default:
+                    map.put(key, i);
+                    expected.put(key, i);
+            }
+            check(map.size() == expected.size(), "size");
+        }
+        compare(map, expected);
+    }
+
+    private static void putAllThenGrow(Random random, boolean incremental) {
+        Map<Integer, Integer> expected = new HashMap<>();
+        int bulk = 1 + random.nextInt(100);
+        for (int key = 0; key < bulk; key++) {
+            expected.put(key, key);
+        }
+
+        HashMapFinal<Integer, Integer> map = new HashMapFinal<>(incremental);
+        if (random.nextBoolean()) {
+            map.putAll(expected);
+        } else {
+            HashMapFinal<Integer, Integer> other = new HashMapFinal<>(incremental);
+            other.putAll(expected);
+            map.putAll(other);
+        }
+
+        // enough single puts to go over the load factor of the table putAll sized
+        for (int key = bulk; key < bulk * 10 + 1_000; key++) {
+            map.put(key, key);
+            expected.put(key, key);
+        }
+        compare(map, expected);
+    }
+
+    private static <K> void compare(HashMapFinal<K, Integer> map, Map<K, Integer> expected) {
+        check(map.size() == expected.size(), "size");
+        for (Map.Entry<K, Integer> entry : expected.entrySet()) {
+            check(same(map.get(entry.getKey()), entry.getValue()), "get " + entry.getKey());
+        }
+        int[] count = {0};
+        map.forEach((key, value) -> {
+            check(same(value, expected.get(key)), "forEach " + key);
+            count[0]++;
+        });
+        check(count[0] == expected.size(), "forEach count");
+    }
+
+    private static boolean same(Integer a, Integer b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("HashMapFinal differs from HashMap at " + what + "!");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.hashmap;
+
+// int keys and int values in two flat arrays, no boxing and no allocation on get / put
+// 0 marks an empty slot, so the key 0 itself is kept aside in its own fields
+class IntIntHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+
+    private boolean hasZeroKey = false;
+    private int zeroValue;
+
+    private int size = 0;
+
+    private float lf = 0.75f;
+
+    // returned by get when the key is missing
+    private final int noValue;
+
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    public IntIntHashMap(int expected, int noValue) {
+        int capacity = tableSizeFor((int) (expected / lf) + 1);
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        this.noValue = noValue;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = 2;
+        while (capacity < n) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // murmur3 finalizer, sequential keys end up far apart
+    private static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int index = mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if ((float) (size) / keys.length > lf) {
+            reHash();
+        }
+    }
+
+    private void reHash() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = mix(oldKeys[i]) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private int indexOf(int key) {
+        int index = mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    public int get(int key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : noValue;
+        }
+        int index = indexOf(key);
+        return index == -1 ? noValue : values[index];
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) != -1;
+    }
+
+    public void remove(int key) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                size--;
+            }
+            return;
+        }
+
+        int hole = indexOf(key);
+        if (hole == -1) {
+            return;
+        }
+
+        // backward shift, same as OpenHashMap
+        int index = (hole + 1) & mask;
+        while (keys[index] != 0) {
+            int home = mix(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[hole] = 0;
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{");
+        if (hasZeroKey) {
+            builder.append(0);
+            builder.append(" = ");
+            builder.append(zeroValue);
+            builder.append(" , ");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                builder.append(keys[i]);
+                builder.append(" = ");
+                builder.append(values[i]);
+                builder.append(" , ");
+            }
+        }
+        builder.append("}");
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,183 @@
+package com.hashmap;
+
+// long keys and long values in two flat arrays, no boxing and no allocation on get / put
+// 0L marks an empty slot, so the key 0 itself is kept aside in its own fields
+class LongLongHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+
+    private boolean hasZeroKey = false;
+    private long zeroValue;
+
+    private int size = 0;
+
+    private float lf = 0.75f;
+
+    // returned by get when the key is missing
+    private final long noValue;
+
+    public LongLongHashMap() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    public LongLongHashMap(int expected, long noValue) {
+        int capacity = tableSizeFor((int) (expected / lf) + 1);
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        this.noValue = noValue;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = 2;
+        while (capacity < n) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // 64 bit murmur3 finalizer, the low 32 bits are well mixed afterwards
+    private static int mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int index = mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if ((float) (size) / keys.length > lf) {
+            reHash();
+        }
+    }
+
+    private void reHash() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = mix(oldKeys[i]) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    public long get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : noValue;
+        }
+        int index = indexOf(key);
+        return index == -1 ? noValue : values[index];
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) != -1;
+    }
+
+    public void remove(long key) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                size--;
+            }
+            return;
+        }
+
+        int hole = indexOf(key);
+        if (hole == -1) {
+            return;
+        }
+
+        // backward shift, same as OpenHashMap
+        int index = (hole + 1) & mask;
+        while (keys[index] != 0) {
+            int home = mix(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[hole] = 0;
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{");
+        if (hasZeroKey) {
+            builder.append(0);
+            builder.append(" = ");
+            builder.append(zeroValue);
+            builder.append(" , ");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                builder.append(keys[i]);
+                builder.append(" = ");
+                builder.append(values[i]);
+                builder.append(" , ");
+            }
+        }
+        builder.append("}");
+
+        return builder.toString();
+    }
+}
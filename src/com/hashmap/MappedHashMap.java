@@ -0,0 +1,279 @@
+package com.hashmap;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// open addressing hash map that lives in a memory mapped file instead of on the heap
+// keys and values are byte arrays up to a fixed maximum length, written straight into the slots:
+//
+//   header: magic | capacity | maxKey | maxValue | size
+//   slot:   used (1 byte) | key length (2 bytes) | key bytes | value length (2 bytes) | value bytes
+//
+// opening an existing file only reads the header, nothing is rebuilt
+// writes reach the disk when the OS flushes the pages, call force() to wait for that
+class MappedHashMap implements AutoCloseable {
+    private static final int MAGIC = 0x484d4150;
+    private static final int HEADER_SIZE = 64;
+
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int MAX_KEY_OFFSET = 8;
+    private static final int MAX_VALUE_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+
+    private final Path file;
+    private final int maxKey;
+    private final int maxValue;
+    private final int slotSize;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int mask;
+    private int size;
+
+    private float lf = 0.7f;
+
+    // opens the file if it already holds a map, otherwise creates one with room for the expected entries
+    public MappedHashMap(Path file, int expected, int maxKey, int maxValue) throws IOException {
+        if (maxKey > Short.MAX_VALUE || maxValue > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Keys and values are limited to " + Short.MAX_VALUE + " bytes!");
+        }
+
+        this.file = file;
+
+        if (Files.exists(file) && Files.size(file) >= HEADER_SIZE) {
+            open(file);
+            this.maxKey = buffer.getInt(MAX_KEY_OFFSET);
+            this.maxValue = buffer.getInt(MAX_VALUE_OFFSET);
+            if (this.maxKey != maxKey || this.maxValue != maxValue) {
+                channel.close();
+                throw new IllegalArgumentException("File was created with maxKey=" + this.maxKey + " and maxValue=" + this.maxValue);
+            }
+            this.slotSize = slotSize(maxKey, maxValue);
+        } else {
+            this.maxKey = maxKey;
+            this.maxValue = maxValue;
+            this.slotSize = slotSize(maxKey, maxValue);
+            create(file, tableSizeFor((int) (expected / lf) + 1));
+            open(file);
+        }
+    }
+
+    private static int slotSize(int maxKey, int maxValue) {
+        return 1 + 2 + maxKey + 2 + maxValue;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = 16;
+        while (capacity < n) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void create(Path target, int capacity) throws IOException {
+        long length = HEADER_SIZE + (long) capacity * slotSize;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("A single mapping is limited to 2 GB, " + capacity + " slots do not fit!");
+        }
+
+        try (FileChannel created = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = created.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            header.putInt(0, MAGIC);
+            header.putInt(CAPACITY_OFFSET, capacity);
+            header.putInt(MAX_KEY_OFFSET, maxKey);
+            header.putInt(MAX_VALUE_OFFSET, maxValue);
+            header.putInt(SIZE_OFFSET, 0);
+            header.force();
+        }
+    }
+
+    private void open(Path source) throws IOException {
+        channel = FileChannel.open(source, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+
+        if (buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException(source + " is not a mapped hash map!");
+        }
+
+        capacity = buffer.getInt(CAPACITY_OFFSET);
+        mask = capacity - 1;
+        size = buffer.getInt(SIZE_OFFSET);
+    }
+
+    private int offset(int slot) {
+        return HEADER_SIZE + slot * slotSize;
+    }
+
+    private static int hash(byte[] key) {
+        int h = 1;
+        for (byte b : key) {
+            h = 31 * h + b;
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // hash of the key stored in a slot, read in place
+    private static int hashAt(MappedByteBuffer source, int offset) {
+        int length = source.getShort(offset + 1);
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + source.get(offset + 3 + i);
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean keyEquals(int slot, byte[] key) {
+        int offset = offset(slot);
+        if (buffer.getShort(offset + 1) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(offset + 3 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean used(int slot) {
+        return buffer.get(offset(slot)) == USED;
+    }
+
+    private int indexOf(byte[] key) {
+        int slot = hash(key) & mask;
+        while (used(slot)) {
+            if (keyEquals(slot, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public void put(byte[] key, byte[] value) throws IOException {
+        if (key.length > maxKey || value.length > maxValue) {
+            throw new IllegalArgumentException("Key or value is longer than the slot allows!");
+        }
+
+        int slot = hash(key) & mask;
+        while (used(slot)) {
+            if (keyEquals(slot, key)) {
+                writeValue(slot, value);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int offset = offset(slot);
+        buffer.putShort(offset + 1, (short) key.length);
+        buffer.put(offset + 3, key);
+        writeValue(slot, value);
+        buffer.put(offset, USED);
+        setSize(size + 1);
+
+        if ((float) (size) / capacity > lf) {
+            reHash();
+        }
+    }
+
+    private void writeValue(int slot, byte[] value) {
+        int offset = offset(slot) + 3 + maxKey;
+        buffer.putShort(offset, (short) value.length);
+        buffer.put(offset + 2, value);
+    }
+
+    public byte[] get(byte[] key) {
+        int slot = indexOf(key);
+        if (slot == -1) {
+            return null;
+        }
+        int offset = offset(slot) + 3 + maxKey;
+        byte[] value = new byte[buffer.getShort(offset)];
+        buffer.get(offset + 2, value);
+        return value;
+    }
+
+    public boolean containsKey(byte[] key) {
+        return indexOf(key) != -1;
+    }
+
+    public void remove(byte[] key) {
+        int hole = indexOf(key);
+        if (hole == -1) {
+            return;
+        }
+
+        // backward shift, same as OpenHashMap, whole slots are copied inside the mapping
+        int slot = (hole + 1) & mask;
+        while (used(slot)) {
+            int home = hashAt(buffer, offset(slot)) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                buffer.put(offset(hole), buffer, offset(slot), slotSize);
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        buffer.put(offset(hole), EMPTY);
+        setSize(size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void setSize(int size) {
+        this.size = size;
+        buffer.putInt(SIZE_OFFSET, size);
+    }
+
+    // builds a table twice as large next to the file and moves it over the old one
+    private void reHash() throws IOException {
+        Path resized = file.resolveSibling(file.getFileName() + ".resize");
+        Files.deleteIfExists(resized);
+        create(resized, capacity * 2);
+
+        MappedByteBuffer old = buffer;
+        int oldCapacity = capacity;
+        channel.close();
+
+        open(resized);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            int from = HEADER_SIZE + slot * slotSize;
+            if (old.get(from) != USED) {
+                continue;
+            }
+            int target = hashAt(old, from) & mask;
+            while (used(target)) {
+                target = (target + 1) & mask;
+            }
+            buffer.put(offset(target), old, from, slotSize);
+        }
+        setSize(old.getInt(SIZE_OFFSET));
+        buffer.force();
+
+        Files.move(resized, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
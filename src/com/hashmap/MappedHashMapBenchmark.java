@@ -0,0 +1,50 @@
+package com.hashmap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// fills a MappedHashMap, closes it and measures how long reopening takes and how fast lookups run afterwards
+class MappedHashMapBenchmark {
+    private static final int N = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Path.of(args[0]) : Files.createTempFile("mapped", ".map");
+        Files.deleteIfExists(file);
+
+        long start = System.nanoTime();
+        try (MappedHashMap map = new MappedHashMap(file, 1024, 8, 8)) {
+            for (long i = 0; i < N; i++) {
+                map.put(bytes(i), bytes(i * 2));
+            }
+        }
+        System.out.printf("wrote %,d entries in %.0f ms, file is %,d bytes%n",
+                N, (System.nanoTime() - start) / 1e6, Files.size(file));
+
+        start = System.nanoTime();
+        try (MappedHashMap map = new MappedHashMap(file, 1024, 8, 8)) {
+            System.out.printf("reopened %,d entries in %.3f ms%n", map.size(), (System.nanoTime() - start) / 1e6);
+
+            start = System.nanoTime();
+            for (long i = 0; i < N; i++) {
+                long value = ByteBuffer.wrap(map.get(bytes(i))).getLong();
+                if (value != i * 2) {
+                    throw new IllegalStateException("wrong value for " + i);
+                }
+            }
+            System.out.printf("get: %,.0f ops/s%n", N / ((System.nanoTime() - start) / 1e9));
+
+            for (long i = 0; i < N; i += 2) {
+                map.remove(bytes(i));
+            }
+            System.out.printf("%,d entries left after removing every second key%n", map.size());
+        }
+
+        Files.deleteIfExists(file);
+    }
+
+    private static byte[] bytes(long value) {
+        return ByteBuffer.allocate(8).putLong(value).array();
+    }
+}
@@ -0,0 +1,145 @@
+package com.hashmap;
+
+// open addressing with linear probing over parallel key / value arrays
+// deletion shifts the following run back instead of leaving tombstones
+class OpenHashMap<K, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+
+    private int size = 0;
+
+    private float lf = 0.5f;
+
+    public OpenHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OpenHashMap(int expected) {
+        int capacity = tableSizeFor((int) (expected / lf) + 1);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = 2;
+        while (capacity < n) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // spread the high bits so a power of two mask still sees them
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public void put(K key, V value) {
+        int index = hash(key) & mask;
+
+        while (keys[index] != null) {
+            if (keys[index].equals(key)) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if ((float) (size) / keys.length > lf) {
+            reHash();
+        }
+    }
+
+    private void reHash() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        keys = new Object[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private int indexOf(Object key) {
+        int index = hash(key) & mask;
+        while (keys[index] != null) {
+            if (keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int index = indexOf(key);
+        return index == -1 ? null : (V) values[index];
+    }
+
+    public void remove(K key) {
+        int hole = indexOf(key);
+        if (hole == -1) {
+            return;
+        }
+
+        // pull back every entry of the run that would be unreachable across the hole
+        int index = (hole + 1) & mask;
+        while (keys[index] != null) {
+            int home = hash(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[hole] = null;
+        values[hole] = null;
+        size--;
+    }
+
+    public boolean containsKey(K key) {
+        return indexOf(key) != -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{");
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                builder.append(keys[i]);
+                builder.append(" = ");
+                builder.append(values[i]);
+                builder.append(" , ");
+            }
+        }
+        builder.append("}");
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.hashmap;
+
+import java.util.Random;
+
+// compares the chained HashMapFinal against OpenHashMap
+// keys are boxed up front so only the map's own allocations are measured
+class OpenHashMapBenchmark {
+    private static final int N = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Integer[] keys = new Integer[N];
+        Random random = new Random(42);
+        for (int i = 0; i < N; i++) {
+            keys[i] = random.nextInt();
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+            chained(keys);
+            open(keys);
+        }
+    }
+
+    private static void chained(Integer[] keys) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        HashMapFinal<Integer, Integer> map = new HashMapFinal<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        long putTime = System.nanoTime() - start;
+        long bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        long hits = 0;
+        for (Integer key : keys) {
+            if (map.get(key) != null) {
+                hits++;
+            }
+        }
+        long getTime = System.nanoTime() - start;
+
+        report("HashMapFinal", keys.length, putTime, getTime, bytes, hits);
+    }
+
+    private static void open(Integer[] keys) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        OpenHashMap<Integer, Integer> map = new OpenHashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        long putTime = System.nanoTime() - start;
+        long bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        long hits = 0;
+        for (Integer key : keys) {
+            if (map.get(key) != null) {
+                hits++;
+            }
+        }
+        long getTime = System.nanoTime() - start;
+
+        report("OpenHashMap", map.size(), putTime, getTime, bytes, hits);
+    }
+
+    private static void report(String name, int entries, long putTime, long getTime, long bytes, long hits) {
+        System.out.printf("%-14s put: %,12.0f ops/s  get: %,12.0f ops/s  %6.1f bytes/entry  (%d hits)%n",
+                name,
+                N / (putTime / 1e9),
+                N / (getTime / 1e9),
+                (double) bytes / entries,
+                hits);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,102 @@
+package com.hashmap;
+
+import java.util.Random;
+
+// boxed HashMapFinal<Integer, Integer> against IntIntHashMap and LongLongHashMap
+class PrimitiveMapBenchmark {
+    private static final int N = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int[] keys = new int[N];
+        Random random = new Random(42);
+        for (int i = 0; i < N; i++) {
+            keys[i] = random.nextInt();
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+            boxed(keys);
+            ints(keys);
+            longs(keys);
+        }
+    }
+
+    private static void boxed(int[] keys) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        HashMapFinal<Integer, Integer> map = new HashMapFinal<>();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        long putTime = System.nanoTime() - start;
+        long bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (int key : keys) {
+            sum += map.get(key);
+        }
+        long getTime = System.nanoTime() - start;
+
+        report("HashMapFinal", putTime, getTime, bytes, sum);
+    }
+
+    private static void ints(int[] keys) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        IntIntHashMap map = new IntIntHashMap();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        long putTime = System.nanoTime() - start;
+        long bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (int key : keys) {
+            sum += map.get(key);
+        }
+        long getTime = System.nanoTime() - start;
+
+        report("IntIntHashMap", putTime, getTime, bytes, sum);
+    }
+
+    private static void longs(int[] keys) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        LongLongHashMap map = new LongLongHashMap();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        long putTime = System.nanoTime() - start;
+        long bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (int key : keys) {
+            sum += map.get(key);
+        }
+        long getTime = System.nanoTime() - start;
+
+        report("LongLongHashMap", putTime, getTime, bytes, sum);
+    }
+
+    // bytes include the boxed keys and values for HashMapFinal, that is the point of the comparison
+    private static void report(String name, long putTime, long getTime, long bytes, long checksum) {
+        System.out.printf("%-16s put: %,12.0f ops/s  get: %,12.0f ops/s  %6.1f bytes/entry  (checksum %d)%n",
+                name,
+                N / (putTime / 1e9),
+                N / (getTime / 1e9),
+                (double) bytes / N,
+                checksum);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
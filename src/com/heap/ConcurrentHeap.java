@@ -0,0 +1,181 @@
+package com.heap;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// min priority queue for many threads at once
+// strict mode keeps everything in one lock free skip list, remove always returns the minimum
+// relaxed mode is a MultiQueue: several small Heaps behind their own locks, insert picks one at random
+// and remove takes the better root of two random ones, so it returns one of the smallest elements
+// but not necessarily the smallest
+class ConcurrentHeap<T extends Comparable<T>> {
+    // sub queues per core in relaxed mode
+    private static final int QUEUES_PER_THREAD = 2;
+
+    // strict mode, equal elements are told apart by an insertion sequence number
+    private final ConcurrentSkipListSet<Entry<T>> skipList;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // relaxed mode
+    private final SubQueue[] queues;
+
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentHeap() {
+        this(false);
+    }
+
+    public ConcurrentHeap(boolean relaxed) {
+        this(relaxed, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentHeap(boolean relaxed, int threads) {
+        if (relaxed) {
+            skipList = null;
+            queues = new ConcurrentHeap.SubQueue[Math.max(2, threads * QUEUES_PER_THREAD)];
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = new SubQueue();
+            }
+        } else {
+            skipList = new ConcurrentSkipListSet<>();
+            queues = null;
+        }
+    }
+
+    public void insert(T value) {
+        size.increment();
+
+        if (skipList != null) {
+            skipList.add(new Entry<>(value, sequence.getAndIncrement()));
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            SubQueue queue = queues[random.nextInt(queues.length)];
+            if (queue.lock.tryLock()) {
+                try {
+                    queue.heap.insert(value);
+                    queue.min = queue.heap.first();
+                } finally {
+                    queue.lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    public T remove() throws Exception {
+        T value = poll();
+        if (value == null) {
+            throw new Exception("Removing from an empty heap!");
+        }
+        return value;
+    }
+
+    // null when the queue is empty
+    public T poll() {
+        T value = skipList != null ? pollStrict() : pollRelaxed();
+        if (value != null) {
+            size.decrement();
+        }
+        return value;
+    }
+
+    private T pollStrict() {
+        Entry<T> entry = skipList.pollFirst();
+        return entry == null ? null : entry.value;
+    }
+
+    private T pollRelaxed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int misses = 0;
+
+        while (true) {
+            SubQueue a = queues[random.nextInt(queues.length)];
+            SubQueue b = queues[random.nextInt(queues.length)];
+            T minA = a.min;
+            T minB = b.min;
+
+            SubQueue best;
+            if (minA == null) {
+                best = b;
+            } else if (minB == null) {
+                best = a;
+            } else {
+                best = minA.compareTo(minB) <= 0 ? a : b;
+            }
+
+            if (best.min == null) {
+                // both picks were empty, only give up once every queue is
+                if (++misses >= queues.length && allEmpty()) {
+                    return null;
+                }
+                continue;
+            }
+
+            if (!best.lock.tryLock()) {
+                continue;
+            }
+            try {
+                T value = best.heap.poll();
+                best.min = best.heap.first();
+                if (value != null) {
+                    return value;
+                }
+            } finally {
+                best.lock.unlock();
+            }
+        }
+    }
+
+    private boolean allEmpty() {
+        for (SubQueue queue : queues) {
+            if (queue.min != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isRelaxed() {
+        return queues != null;
+    }
+
+    // exact once the threads are quiet, an estimate while they are not
+    public int size() {
+        return (int) size.sum();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private class SubQueue {
+        final Heap<T> heap = new Heap<>();
+        final ReentrantLock lock = new ReentrantLock();
+
+        // root of the heap, read without the lock to choose between two queues
+        volatile T min;
+    }
+
+    private static class Entry<T extends Comparable<T>> implements Comparable<Entry<T>> {
+        final T value;
+        final long sequence;
+
+        Entry(T value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            int c = value.compareTo(other.value);
+            return c != 0 ? c : Long.compare(sequence, other.sequence);
+        }
+    }
+}
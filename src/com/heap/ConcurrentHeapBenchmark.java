@@ -0,0 +1,98 @@
+package com.heap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// half inserts, half removes from 1 to 64 threads
+// the baseline is a Heap behind one lock, the way the scheduler uses it today
+class ConcurrentHeapBenchmark {
+    private static final int PREFILL = 1_000_000;
+    private static final long DURATION_MS = 1000;
+    private static final int MAX_THREADS = 64;
+
+    interface Target {
+        void insert(Integer value);
+
+        Integer poll();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : MAX_THREADS;
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double locked = run(lockedHeap(), threads);
+            double strict = run(concurrent(new ConcurrentHeap<>(false, threads)), threads);
+            double relaxed = run(concurrent(new ConcurrentHeap<>(true, threads)), threads);
+            System.out.printf("%3d threads  synchronized: %,12.0f ops/s  skip list: %,12.0f ops/s  multiqueue: %,12.0f ops/s%n",
+                    threads, locked, strict, relaxed);
+        }
+    }
+
+    private static Target lockedHeap() {
+        Heap<Integer> heap = new Heap<>();
+        return new Target() {
+            public synchronized void insert(Integer value) {
+                heap.insert(value);
+            }
+
+            public synchronized Integer poll() {
+                return heap.poll();
+            }
+        };
+    }
+
+    private static Target concurrent(ConcurrentHeap<Integer> heap) {
+        return new Target() {
+            public void insert(Integer value) {
+                heap.insert(value);
+            }
+
+            public Integer poll() {
+                return heap.poll();
+            }
+        };
+    }
+
+    private static double run(Target heap, int threads) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PREFILL; i++) {
+            heap.insert(random.nextInt());
+        }
+
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom local = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.currentTimeMillis() + DURATION_MS;
+                long count = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    for (int i = 0; i < 1000; i++) {
+                        if (local.nextBoolean()) {
+                            heap.insert(local.nextInt());
+                        } else {
+                            heap.poll();
+                        }
+                    }
+                    count += 1000;
+                }
+                ops.add(count);
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() / (DURATION_MS / 1000.0);
+    }
+}
@@ -0,0 +1,161 @@
+package com.heap;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// Dijkstra over a desert grid like the one in DesertQueen: 'M' is blocked, stepping onto 'T' is free,
+// every other step costs 1. keys only grow, which is what RadixHeap needs
+// entries are (cost << 32) | cell packed into one Long so every MinHeap sees the same elements
+class GridBenchmark {
+    private static final int N = 2000;
+    private static final int ROUNDS = 3;
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : N;
+        char[][] grid = grid(n, new Random(11));
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+            report("Heap d=2", () -> search(grid, new Heap<>(2)));
+            report("Heap d=4", () -> search(grid, new Heap<>(4)));
+            report("PairingHeap", () -> search(grid, new PairingHeap<>()));
+            report("RadixHeap", () -> search(grid, new RadixHeap<Long>(entry -> (int) (entry >>> 32))));
+            report("PriorityQueue", () -> priorityQueue(grid));
+            report("IndexedHeap", () -> indexed(grid));
+        }
+    }
+
+    interface Search {
+        long run() throws Exception;
+    }
+
+    private static void report(String name, Search search) throws Exception {
+        long start = System.nanoTime();
+        long checksum = search.run();
+        System.out.printf("  %-14s %8.1f ms  (sum of distances %d)%n", name, (System.nanoTime() - start) / 1e6, checksum);
+    }
+
+    private static char[][] grid(int n, Random random) {
+        char[][] grid = new char[n][n];
+        for (char[] row : grid) {
+            for (int j = 0; j < n; j++) {
+                int roll = random.nextInt(10);
+                row[j] = roll < 2 ? 'M' : roll < 5 ? 'T' : '.';
+            }
+        }
+        grid[0][0] = 'S';
+        return grid;
+    }
+
+    private static int[] distances(int n) {
+        int[] dist = new int[n * n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[0] = 0;
+        return dist;
+    }
+
+    private static long sum(int[] dist) {
+        long sum = 0;
+        for (int d : dist) {
+            if (d != Integer.MAX_VALUE) {
+                sum += d;
+            }
+        }
+        return sum;
+    }
+
+    // duplicates are pushed and skipped when they come out stale
+    private static long search(char[][] grid, MinHeap<Long> heap) throws Exception {
+        int n = grid.length;
+        int[] dist = distances(n);
+        heap.insert(0L);
+
+        while (!heap.isEmpty()) {
+            long entry = heap.remove();
+            int cost = (int) (entry >>> 32);
+            int cell = (int) entry;
+            if (cost > dist[cell]) {
+                continue;
+            }
+
+            int x = cell / n;
+            int y = cell % n;
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DX[i];
+                int ny = y + DY[i];
+                if (nx >= 0 && nx < n && ny >= 0 && ny < n && grid[nx][ny] != 'M') {
+                    int newCost = cost + (grid[nx][ny] == 'T' ? 0 : 1);
+                    int next = nx * n + ny;
+                    if (newCost < dist[next]) {
+                        dist[next] = newCost;
+                        heap.insert(((long) newCost << 32) | next);
+                    }
+                }
+            }
+        }
+        return sum(dist);
+    }
+
+    private static long priorityQueue(char[][] grid) {
+        int n = grid.length;
+        int[] dist = distances(n);
+        PriorityQueue<Long> heap = new PriorityQueue<>();
+        heap.offer(0L);
+
+        while (!heap.isEmpty()) {
+            long entry = heap.poll();
+            int cost = (int) (entry >>> 32);
+            int cell = (int) entry;
+            if (cost > dist[cell]) {
+                continue;
+            }
+
+            int x = cell / n;
+            int y = cell % n;
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DX[i];
+                int ny = y + DY[i];
+                if (nx >= 0 && nx < n && ny >= 0 && ny < n && grid[nx][ny] != 'M') {
+                    int newCost = cost + (grid[nx][ny] == 'T' ? 0 : 1);
+                    int next = nx * n + ny;
+                    if (newCost < dist[next]) {
+                        dist[next] = newCost;
+                        heap.offer(((long) newCost << 32) | next);
+                    }
+                }
+            }
+        }
+        return sum(dist);
+    }
+
+    private static long indexed(char[][] grid) {
+        int n = grid.length;
+        int[] dist = distances(n);
+        IndexedHeap heap = new IndexedHeap(n * n);
+        heap.insert(0, 0);
+
+        while (!heap.isEmpty()) {
+            int cell = heap.remove();
+            int cost = dist[cell];
+
+            int x = cell / n;
+            int y = cell % n;
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DX[i];
+                int ny = y + DY[i];
+                if (nx >= 0 && nx < n && ny >= 0 && ny < n && grid[nx][ny] != 'M') {
+                    int newCost = cost + (grid[nx][ny] == 'T' ? 0 : 1);
+                    int next = nx * n + ny;
+                    if (newCost < dist[next]) {
+                        dist[next] = newCost;
+                        heap.update(next, newCost);
+                    }
+                }
+            }
+        }
+        return sum(dist);
+    }
+}
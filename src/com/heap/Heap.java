@@ -1,86 +1,228 @@
 package com.heap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
-class Heap<T extends Comparable<T>> {
+// d-ary min heap over a plain array
+// a wider node means a shallower tree and the children of one node sit next to each other in memory
+class Heap<T extends Comparable<T>> implements MinHeap<T> {
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
 
-    private ArrayList<T> list;
+    private Object[] data;
+    private int size = 0;
+    private final int arity;
 
     public Heap() {
-        list = new ArrayList<>();
+        this(DEFAULT_ARITY);
     }
 
-    private void swap(int first, int second) {
-        T temp = list.get(first);
-        list.set(first, list.get(second));
-        list.set(second, temp);
+    public Heap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity has to be at least 2!");
+        }
+        this.arity = arity;
+        this.data = new Object[DEFAULT_CAPACITY];
     }
 
-    private int parent(int index) {
-        return (index - 1) / 2;
+    // builds the heap bottom up (Floyd), O(n) instead of n inserts
+    public static <T extends Comparable<T>> Heap<T> heapify(T[] items) {
+        return heapify(items, DEFAULT_ARITY);
     }
 
-    private int left(int index) {
-        return index * 2 + 1;
+    public static <T extends Comparable<T>> Heap<T> heapify(T[] items, int arity) {
+        Heap<T> heap = new Heap<>(arity);
+        heap.data = Arrays.copyOf(items, Math.max(items.length, DEFAULT_CAPACITY), Object[].class);
+        heap.size = items.length;
+
+        for (int i = heap.parent(heap.size - 1); i >= 0; i--) {
+            heap.downheap(i, heap.elementAt(i));
+        }
+        return heap;
     }
 
-    private int right(int index) {
-        return index * 2 + 2;
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) data[index];
     }
 
-    public void insert(T value) {
-        list.add(value);
-        upheap(list.size() - 1);
+    private int parent(int index) {
+        return (index - 1) / arity;
     }
-    private void upheap(int index) {
-        if(index == 0) {
-            return;
+
+    private int firstChild(int index) {
+        return index * arity + 1;
+    }
+
+    public void insert(T value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
         }
-        int p = parent(index);
-        if(list.get(index).compareTo(list.get(p)) < 0) {
-            swap(index, p);
-            upheap(p);
+        upheap(size++, value);
+    }
+
+    // the hole moves up and the value is written once, where it ends up
+    private void upheap(int index, T value) {
+        while (index > 0) {
+            int p = parent(index);
+            T parent = elementAt(p);
+            if (value.compareTo(parent) >= 0) {
+                break;
+            }
+            data[index] = parent;
+            index = p;
         }
+        data[index] = value;
     }
 
     public T remove() throws Exception {
-        if (list.isEmpty()) {
+        if (size == 0) {
             throw new Exception("Removing from an empty heap!");
         }
+        return removeFirst();
+    }
+
+    // null when empty, for callers in this package that do their own emptiness checks
+    T first() {
+        return size == 0 ? null : elementAt(0);
+    }
+
+    T poll() {
+        return size == 0 ? null : removeFirst();
+    }
 
-        T temp = list.get(0);
+    // swaps the root for a new value with a single sift, cheaper than poll followed by insert
+    void replaceFirst(T value) {
+        downheap(0, value);
+    }
 
-        T last = list.remove(list.size() - 1);
-        if (!list.isEmpty()) {
-            list.set(0, last);
-            downheap(0);
+    // array order, not sorted
+    void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elementAt(i));
+        }
+    }
+
+    private T removeFirst() {
+        T temp = elementAt(0);
+
+        T last = elementAt(--size);
+        data[size] = null;
+        if (size > 0) {
+            downheap(0, last);
         }
 
         return temp;
     }
-    private void downheap(int index) {
-        int min = index;
-        int left = left(index);
-        int right = right(index);
 
-        if(left < list.size() && list.get(min).compareTo(list.get(left)) > 0) {
-            min = left;
+    public T peek() throws Exception {
+        if (size == 0) {
+            throw new Exception("Peeking into an empty heap!");
         }
+        return elementAt(0);
+    }
 
-        if(right < list.size() && list.get(min).compareTo(list.get(right)) > 0) {
-            min = right;
+    private void downheap(int index, T value) {
+        while (true) {
+            int first = firstChild(index);
+            if (first >= size) {
+                break;
+            }
+
+            int end = Math.min(first + arity, size);
+            int min = first;
+            T minValue = elementAt(first);
+            for (int child = first + 1; child < end; child++) {
+                if (elementAt(child).compareTo(minValue) < 0) {
+                    min = child;
+                    minValue = elementAt(child);
+                }
+            }
+
+            if (minValue.compareTo(value) >= 0) {
+                break;
+            }
+            data[index] = minValue;
+            index = min;
         }
+        data[index] = value;
+    }
 
-        if(min != index) {
-            swap(min, index);
-            downheap(min);
-        }
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
     }
 
-    public ArrayList<T> heapSort() throws Exception {
-        ArrayList<T> data = new ArrayList<>();
-        while(!list.isEmpty()) {
-            data.add(this.remove());
+    // empties the heap
+    public ArrayList<T> heapSort() {
+        ArrayList<T> data = new ArrayList<>(size);
+        while(!isEmpty()) {
+            data.add(removeFirst());
         }
         return data;
     }
-}
\ No newline at end of file
+
+    // in place, ascending: heapify as a max heap, then keep swapping the root behind the shrinking heap
+    public static void heapSort(int[] arr) {
+        int n = arr.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, i, arr[i], n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int max = arr[0];
+            siftDown(arr, 0, arr[end], end);
+            arr[end] = max;
+        }
+    }
+
+    private static void siftDown(int[] arr, int index, int value, int size) {
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && arr[child + 1] > arr[child]) {
+                child++;
+            }
+            if (arr[child] <= value) {
+                break;
+            }
+            arr[index] = arr[child];
+            index = child;
+        }
+        arr[index] = value;
+    }
+
+    public static <T extends Comparable<T>> void heapSort(T[] arr) {
+        int n = arr.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, i, arr[i], n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            T max = arr[0];
+            siftDown(arr, 0, arr[end], end);
+            arr[end] = max;
+        }
+    }
+
+    private static <T extends Comparable<T>> void siftDown(T[] arr, int index, T value, int size) {
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && arr[child + 1].compareTo(arr[child]) > 0) {
+                child++;
+            }
+            if (arr[child].compareTo(value) <= 0) {
+                break;
+            }
+            arr[index] = arr[child];
+            index = child;
+        }
+        arr[index] = value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.heap;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// n random inserts followed by n removes, for binary, 4-ary and 8-ary heaps
+class HeapBenchmark {
+    private static final int N = 2_000_000;
+    private static final int ROUNDS = 5;
+    private static final int[] ARITIES = {2, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        int[] values = new int[N];
+        Integer[] boxed = new Integer[N];
+        Random random = new Random(42);
+        for (int i = 0; i < N; i++) {
+            values[i] = random.nextInt();
+            boxed[i] = values[i];
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+            priorityQueue(boxed);
+            for (int arity : ARITIES) {
+                heap(boxed, arity);
+            }
+            for (int arity : ARITIES) {
+                intHeap(values, arity);
+            }
+        }
+    }
+
+    private static void priorityQueue(Integer[] values) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>();
+        long start = System.nanoTime();
+        for (Integer value : values) {
+            queue.offer(value);
+        }
+        long insert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        while (!queue.isEmpty()) {
+            checksum += queue.poll();
+        }
+        long remove = System.nanoTime() - start;
+
+        report("PriorityQueue", insert, remove, checksum);
+    }
+
+    private static void heap(Integer[] values, int arity) throws Exception {
+        Heap<Integer> heap = new Heap<>(arity);
+        long start = System.nanoTime();
+        for (Integer value : values) {
+            heap.insert(value);
+        }
+        long insert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        while (!heap.isEmpty()) {
+            checksum += heap.remove();
+        }
+        long remove = System.nanoTime() - start;
+
+        report("Heap d=" + arity, insert, remove, checksum);
+    }
+
+    private static void intHeap(int[] values, int arity) throws Exception {
+        IntHeap heap = new IntHeap(arity);
+        long start = System.nanoTime();
+        for (int value : values) {
+            heap.insert(value);
+        }
+        long insert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        while (!heap.isEmpty()) {
+            checksum += heap.remove();
+        }
+        long remove = System.nanoTime() - start;
+
+        report("IntHeap d=" + arity, insert, remove, checksum);
+    }
+
+    private static void report(String name, long insert, long remove, long checksum) {
+        System.out.printf("  %-14s insert: %6.1f ns/op  remove: %6.1f ns/op  (checksum %d)%n",
+                name, (double) insert / N, (double) remove / N, checksum);
+    }
+}
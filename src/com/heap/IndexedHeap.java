@@ -0,0 +1,152 @@
+package com.heap;
+
+import java.util.Arrays;
+
+// d-ary min heap over int ids in [0, capacity) with an int priority each
+// pos[] remembers where every id sits, so a priority can be changed in place instead of pushing
+// a duplicate, and the heap never holds more than capacity entries
+public class IndexedHeap {
+    private static final int DEFAULT_ARITY = 4;
+
+    private final int[] heap;
+    private final int[] pos;
+    private final int[] keys;
+    private final int arity;
+    private int size = 0;
+
+    public IndexedHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    public IndexedHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity has to be at least 2!");
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public boolean contains(int id) {
+        return pos[id] != -1;
+    }
+
+    public int keyOf(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is not in the heap!");
+        }
+        return keys[id];
+    }
+
+    public void insert(int id, int key) {
+        if (contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap!");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        pos[id] = size;
+        upheap(size++);
+    }
+
+    public void decreaseKey(int id, int key) {
+        if (key > keyOf(id)) {
+            throw new IllegalArgumentException("New key is larger than the current one!");
+        }
+        keys[id] = key;
+        upheap(pos[id]);
+    }
+
+    // inserts the id or moves it to its new priority, whichever direction that is
+    public void update(int id, int key) {
+        if (!contains(id)) {
+            insert(id, key);
+            return;
+        }
+        int old = keys[id];
+        keys[id] = key;
+        if (key < old) {
+            upheap(pos[id]);
+        } else {
+            downheap(pos[id]);
+        }
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Peeking into an empty heap!");
+        }
+        return heap[0];
+    }
+
+    // removes the id with the smallest priority and returns it
+    public int remove() {
+        if (size == 0) {
+            throw new IllegalStateException("Removing from an empty heap!");
+        }
+
+        int min = heap[0];
+        pos[min] = -1;
+
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            downheap(0);
+        }
+        return min;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void upheap(int index) {
+        int id = heap[index];
+        int key = keys[id];
+        while (index > 0) {
+            int p = (index - 1) / arity;
+            if (key >= keys[heap[p]]) {
+                break;
+            }
+            heap[index] = heap[p];
+            pos[heap[index]] = index;
+            index = p;
+        }
+        heap[index] = id;
+        pos[id] = index;
+    }
+
+    private void downheap(int index) {
+        int id = heap[index];
+        int key = keys[id];
+        while (true) {
+            int first = index * arity + 1;
+            if (first >= size) {
+                break;
+            }
+
+            int end = Math.min(first + arity, size);
+            int min = first;
+            for (int child = first + 1; child < end; child++) {
+                if (keys[heap[child]] < keys[heap[min]]) {
+                    min = child;
+                }
+            }
+
+            if (keys[heap[min]] >= key) {
+                break;
+            }
+            heap[index] = heap[min];
+            pos[heap[index]] = index;
+            index = min;
+        }
+        heap[index] = id;
+        pos[id] = index;
+    }
+}
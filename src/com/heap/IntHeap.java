@@ -0,0 +1,99 @@
+package com.heap;
+
+import java.util.Arrays;
+
+// same d-ary layout as Heap but over an int[], no boxing and no compareTo calls
+class IntHeap {
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] data;
+    private int size = 0;
+    private final int arity;
+
+    public IntHeap() {
+        this(DEFAULT_ARITY);
+    }
+
+    public IntHeap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity has to be at least 2!");
+        }
+        this.arity = arity;
+        this.data = new int[DEFAULT_CAPACITY];
+    }
+
+    private int parent(int index) {
+        return (index - 1) / arity;
+    }
+
+    private int firstChild(int index) {
+        return index * arity + 1;
+    }
+
+    public void insert(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+
+        int index = size++;
+        while (index > 0) {
+            int p = parent(index);
+            if (value >= data[p]) {
+                break;
+            }
+            data[index] = data[p];
+            index = p;
+        }
+        data[index] = value;
+    }
+
+    public int remove() throws Exception {
+        if (size == 0) {
+            throw new Exception("Removing from an empty heap!");
+        }
+
+        int temp = data[0];
+        int value = data[--size];
+
+        int index = 0;
+        while (true) {
+            int first = firstChild(index);
+            if (first >= size) {
+                break;
+            }
+
+            int end = Math.min(first + arity, size);
+            int min = first;
+            for (int child = first + 1; child < end; child++) {
+                if (data[child] < data[min]) {
+                    min = child;
+                }
+            }
+
+            if (data[min] >= value) {
+                break;
+            }
+            data[index] = data[min];
+            index = min;
+        }
+        data[index] = value;
+
+        return temp;
+    }
+
+    public int peek() throws Exception {
+        if (size == 0) {
+            throw new Exception("Peeking into an empty heap!");
+        }
+        return data[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
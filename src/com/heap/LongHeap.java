@@ -0,0 +1,100 @@
+package com.heap;
+
+import java.util.Arrays;
+
+// same d-ary layout as Heap but over a long[], no boxing and no compareTo calls
+// a priority and an int id fit into one key as (priority << 32) | id
+class LongHeap {
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] data;
+    private int size = 0;
+    private final int arity;
+
+    public LongHeap() {
+        this(DEFAULT_ARITY);
+    }
+
+    public LongHeap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity has to be at least 2!");
+        }
+        this.arity = arity;
+        this.data = new long[DEFAULT_CAPACITY];
+    }
+
+    private int parent(int index) {
+        return (index - 1) / arity;
+    }
+
+    private int firstChild(int index) {
+        return index * arity + 1;
+    }
+
+    public void insert(long value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+
+        int index = size++;
+        while (index > 0) {
+            int p = parent(index);
+            if (value >= data[p]) {
+                break;
+            }
+            data[index] = data[p];
+            index = p;
+        }
+        data[index] = value;
+    }
+
+    public long remove() throws Exception {
+        if (size == 0) {
+            throw new Exception("Removing from an empty heap!");
+        }
+
+        long temp = data[0];
+        long value = data[--size];
+
+        int index = 0;
+        while (true) {
+            int first = firstChild(index);
+            if (first >= size) {
+                break;
+            }
+
+            int end = Math.min(first + arity, size);
+            int min = first;
+            for (int child = first + 1; child < end; child++) {
+                if (data[child] < data[min]) {
+                    min = child;
+                }
+            }
+
+            if (data[min] >= value) {
+                break;
+            }
+            data[index] = data[min];
+            index = min;
+        }
+        data[index] = value;
+
+        return temp;
+    }
+
+    public long peek() throws Exception {
+        if (size == 0) {
+            throw new Exception("Peeking into an empty heap!");
+        }
+        return data[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -1,6 +1,8 @@
 package com.heap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 class Main {
     public static void main(String[] args) throws Exception{
@@ -15,5 +17,15 @@ class Main {
         ArrayList list = heap.heapSort();
         System.out.println(list);
 
+        Heap<Integer> built = Heap.heapify(new Integer[]{34, 45, 22, 89, 76});
+        System.out.println(built.heapSort());
+
+        int[] arr = {34, 45, 22, 89, 76};
+        Heap.heapSort(arr);
+        System.out.println(Arrays.toString(arr));
+
+        TopK<Integer> top = IntStream.range(0, 1_000_000).boxed().parallel().collect(TopK.collector(3));
+        System.out.println(top);
+
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.heap;
+
+// what Heap, PairingHeap and RadixHeap have in common, so a search can swap one for another
+interface MinHeap<T> {
+    void insert(T value);
+
+    T remove() throws Exception;
+
+    T peek() throws Exception;
+
+    int size();
+
+    boolean isEmpty();
+}
@@ -0,0 +1,104 @@
+package com.heap;
+
+// heap ordered multiway tree: insert and meld just link two roots, O(1)
+// remove pairs up the root's children left to right and folds the pairs back right to left,
+// O(log n) amortized
+class PairingHeap<T extends Comparable<T>> implements MinHeap<T> {
+    private Node root;
+    private int size = 0;
+
+    public void insert(T value) {
+        root = link(root, new Node(value));
+        size++;
+    }
+
+    // takes over every element of the other heap and leaves it empty
+    public void meld(PairingHeap<T> other) {
+        root = link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+    }
+
+    public T remove() throws Exception {
+        if (root == null) {
+            throw new Exception("Removing from an empty heap!");
+        }
+
+        T temp = root.value;
+        root = combine(root.child);
+        size--;
+        return temp;
+    }
+
+    public T peek() throws Exception {
+        if (root == null) {
+            throw new Exception("Peeking into an empty heap!");
+        }
+        return root.value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // the larger root becomes the first child of the smaller one
+    private Node link(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (b.value.compareTo(a.value) < 0) {
+            Node temp = a;
+            a = b;
+            b = temp;
+        }
+        b.sibling = a.child;
+        a.child = b;
+        return a;
+    }
+
+    // two pass pairing without recursion, the first pass reuses the sibling links as a stack
+    private Node combine(Node first) {
+        Node pairs = null;
+        while (first != null) {
+            Node a = first;
+            Node b = a.sibling;
+            first = b == null ? null : b.sibling;
+
+            a.sibling = null;
+            if (b != null) {
+                b.sibling = null;
+            }
+
+            Node pair = link(a, b);
+            pair.sibling = pairs;
+            pairs = pair;
+        }
+
+        Node result = null;
+        while (pairs != null) {
+            Node next = pairs.sibling;
+            pairs.sibling = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        return result;
+    }
+
+    private class Node {
+        T value;
+        Node child;
+        Node sibling;
+
+        public Node(T value) {
+            this.value = value;
+        }
+    }
+}
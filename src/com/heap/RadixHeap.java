@@ -0,0 +1,115 @@
+package com.heap;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+// monotone priority queue for non negative int keys, as in Dijkstra with integer weights:
+// no key may be smaller than the last one removed
+// bucket i holds the keys whose highest bit that differs from the last removed key is bit i - 1,
+// bucket 0 the keys equal to it. removing empties the lowest bucket into lower ones again,
+// every element moves down at most 32 times and no comparisons between elements are needed
+class RadixHeap<T> implements MinHeap<T> {
+    private static final int BUCKETS = 33;
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private final ToIntFunction<? super T> key;
+
+    private final int[][] keys = new int[BUCKETS][];
+    private final Object[][] values = new Object[BUCKETS][];
+    private final int[] counts = new int[BUCKETS];
+
+    private int last = 0;
+    private int size = 0;
+
+    public RadixHeap(ToIntFunction<? super T> key) {
+        this.key = key;
+        for (int i = 0; i < BUCKETS; i++) {
+            keys[i] = new int[DEFAULT_CAPACITY];
+            values[i] = new Object[DEFAULT_CAPACITY];
+        }
+    }
+
+    private int bucket(int k) {
+        return k == last ? 0 : 32 - Integer.numberOfLeadingZeros(k ^ last);
+    }
+
+    private void push(int bucket, int k, Object value) {
+        int count = counts[bucket];
+        if (count == keys[bucket].length) {
+            keys[bucket] = Arrays.copyOf(keys[bucket], count * 2);
+            values[bucket] = Arrays.copyOf(values[bucket], count * 2);
+        }
+        keys[bucket][count] = k;
+        values[bucket][count] = value;
+        counts[bucket] = count + 1;
+    }
+
+    public void insert(T value) {
+        int k = key.applyAsInt(value);
+        if (k < last) {
+            throw new IllegalArgumentException("Key " + k + " is smaller than the last removed key " + last + "!");
+        }
+        push(bucket(k), k, value);
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T remove() throws Exception {
+        if (size == 0) {
+            throw new Exception("Removing from an empty heap!");
+        }
+        refill();
+
+        size--;
+        int index = --counts[0];
+        T value = (T) values[0][index];
+        values[0][index] = null;
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() throws Exception {
+        if (size == 0) {
+            throw new Exception("Peeking into an empty heap!");
+        }
+        refill();
+        return (T) values[0][counts[0] - 1];
+    }
+
+    // makes sure bucket 0 is not empty by redistributing the first non empty bucket around its minimum
+    private void refill() {
+        if (counts[0] > 0) {
+            return;
+        }
+
+        int i = 1;
+        while (counts[i] == 0) {
+            i++;
+        }
+
+        int[] bucketKeys = keys[i];
+        Object[] bucketValues = values[i];
+        int count = counts[i];
+
+        int min = bucketKeys[0];
+        for (int j = 1; j < count; j++) {
+            min = Math.min(min, bucketKeys[j]);
+        }
+        last = min;
+
+        // every key lands in a bucket below i, so bucket i can be read while the others are written
+        counts[i] = 0;
+        for (int j = 0; j < count; j++) {
+            push(bucket(bucketKeys[j]), bucketKeys[j], bucketValues[j]);
+            bucketValues[j] = null;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
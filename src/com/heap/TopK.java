@@ -0,0 +1,68 @@
+package com.heap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+
+// keeps the k largest elements seen so far in a min heap of size k
+// the root is the weakest of them, so a candidate that can not beat it is rejected with one compare
+// memory stays O(k) however long the stream is
+class TopK<T extends Comparable<T>> {
+    private final int k;
+    private final Heap<T> heap = new Heap<>();
+
+    public TopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k has to be positive!");
+        }
+        this.k = k;
+    }
+
+    public void offer(T value) {
+        if (heap.size() < k) {
+            heap.insert(value);
+            return;
+        }
+        if (value.compareTo(heap.first()) <= 0) {
+            return;
+        }
+        heap.replaceFirst(value);
+    }
+
+    // folds the other result into this one, so per thread results can be combined
+    public TopK<T> merge(TopK<T> other) {
+        if (other == this) {
+            // offering into the heap we are walking would change it under us
+            return this;
+        }
+        other.heap.forEach(this::offer);
+        return this;
+    }
+
+    // the current top k, largest first
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(heap.size());
+        heap.forEach(result::add);
+        result.sort(Collections.reverseOrder());
+        return result;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public int k() {
+        return k;
+    }
+
+    // stream.collect(TopK.collector(100)), works for parallel streams too
+    public static <T extends Comparable<T>> Collector<T, ?, TopK<T>> collector(int k) {
+        return Collector.of(() -> new TopK<>(k), TopK::offer, TopK::merge);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
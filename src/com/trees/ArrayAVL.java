@@ -0,0 +1,343 @@
+package com.trees;
+
+import java.util.Arrays;
+
+// AVL tree of ints kept in arrays instead of node objects
+// node i is nodes[3i .. 3i + 2] = key, left, right, so a lookup reads one place per level,
+// and heights[i], which only updates touch. 13 bytes per element and no object headers or
+// references for the GC to trace. node 0 stands for null, its height is -1
+// deleted nodes are chained through their left link and handed out again by the next insert
+class ArrayAVL {
+    private static final int NIL = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_DEPTH = 64;
+
+    private static final int STRIDE = 3;
+    private static final int KEY = 0;
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+
+    private int[] nodes;
+    // never more than 46, a byte is enough
+    private byte[] heights;
+
+    private int root = NIL;
+    private int size = 0;
+    // next never used slot
+    private int next = 1;
+    // head of the deleted slots
+    private int free = NIL;
+
+    private final int[] path = new int[MAX_DEPTH];
+
+    public ArrayAVL() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ArrayAVL(int capacity) {
+        capacity = Math.max(capacity, 1) + 1;
+        nodes = new int[capacity * STRIDE];
+        heights = new byte[capacity];
+        heights[NIL] = -1;
+    }
+
+    public int height() {
+        return heights[root];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    private int allocate(int value) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = left(node);
+        } else {
+            if (next == heights.length) {
+                int capacity = heights.length + (heights.length >> 1) + 1;
+                nodes = Arrays.copyOf(nodes, capacity * STRIDE);
+                heights = Arrays.copyOf(heights, capacity);
+            }
+            node = next++;
+        }
+        nodes[node * STRIDE + KEY] = value;
+        nodes[node * STRIDE + LEFT] = NIL;
+        nodes[node * STRIDE + RIGHT] = NIL;
+        heights[node] = 0;
+        return node;
+    }
+
+    private int key(int node) {
+        return nodes[node * STRIDE + KEY];
+    }
+
+    private int left(int node) {
+        return nodes[node * STRIDE + LEFT];
+    }
+
+    private int right(int node) {
+        return nodes[node * STRIDE + RIGHT];
+    }
+
+    private void setLeft(int node, int child) {
+        nodes[node * STRIDE + LEFT] = child;
+    }
+
+    private void setRight(int node, int child) {
+        nodes[node * STRIDE + RIGHT] = child;
+    }
+
+    private void release(int node) {
+        nodes[node * STRIDE + LEFT] = free;
+        nodes[node * STRIDE + RIGHT] = NIL;
+        free = node;
+    }
+
+    public void insert(int value) {
+        int depth = 0;
+        int node = root;
+        while (node != NIL) {
+            if (value == key(node)) {
+                return;
+            }
+            path[depth++] = node;
+            node = value < key(node) ? left(node) : right(node);
+        }
+
+        int leaf = allocate(value);
+        size++;
+        if (depth == 0) {
+            root = leaf;
+            return;
+        }
+
+        int parent = path[depth - 1];
+        if (value < key(parent)) {
+            setLeft(parent, leaf);
+        } else {
+            setRight(parent, leaf);
+        }
+        retrace(depth);
+    }
+
+    public boolean delete(int value) {
+        int depth = 0;
+        int node = root;
+        while (node != NIL && key(node) != value) {
+            path[depth++] = node;
+            node = value < key(node) ? left(node) : right(node);
+        }
+        if (node == NIL) {
+            return false;
+        }
+
+        if (left(node) != NIL && right(node) != NIL) {
+            // take the successor's key and remove the successor instead, it has no left child
+            path[depth++] = node;
+            int successor = right(node);
+            while (left(successor) != NIL) {
+                path[depth++] = successor;
+                successor = left(successor);
+            }
+            nodes[node * STRIDE + KEY] = key(successor);
+            node = successor;
+        }
+
+        int child = left(node) != NIL ? left(node) : right(node);
+        replaceChild(depth == 0 ? NIL : path[depth - 1], node, child);
+        release(node);
+        size--;
+        retrace(depth);
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int node = root;
+        while (node != NIL) {
+            int base = node * STRIDE;
+            int key = nodes[base + KEY];
+            if (value == key) {
+                return true;
+            }
+            // left and right sit next to each other, the comparison only picks the offset
+            node = nodes[base + (value < key ? LEFT : RIGHT)];
+        }
+        return false;
+    }
+
+    // renumbers the nodes in preorder so a root to leaf walk moves forward through the array,
+    // and drops the deleted slots. the collector does the same for node objects when it copies them
+    public void compact() {
+        int[] order = new int[size + 1];
+        int[] renumber = new int[next];
+        int count = 0;
+
+        int[] stack = new int[MAX_DEPTH];
+        int top = 0;
+        if (root != NIL) {
+            stack[top++] = root;
+        }
+        while (top > 0) {
+            int node = stack[--top];
+            order[++count] = node;
+            renumber[node] = count;
+            // right first so the left subtree comes right after its parent
+            if (right(node) != NIL) {
+                stack[top++] = right(node);
+            }
+            if (left(node) != NIL) {
+                stack[top++] = left(node);
+            }
+        }
+
+        int[] compacted = new int[(count + 1) * STRIDE];
+        byte[] compactedHeights = new byte[count + 1];
+        compactedHeights[NIL] = -1;
+        for (int i = 1; i <= count; i++) {
+            int node = order[i];
+            compacted[i * STRIDE + KEY] = key(node);
+            compacted[i * STRIDE + LEFT] = renumber[left(node)];
+            compacted[i * STRIDE + RIGHT] = renumber[right(node)];
+            compactedHeights[i] = heights[node];
+        }
+
+        nodes = compacted;
+        heights = compactedHeights;
+        root = count == 0 ? NIL : 1;
+        next = count + 1;
+        free = NIL;
+    }
+
+    // fixes heights and balance of path[0 .. depth - 1], bottom up
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            int node = path[i];
+            int rotated = rotate(node);
+            if (rotated != node) {
+                replaceChild(i == 0 ? NIL : path[i - 1], node, rotated);
+            }
+        }
+    }
+
+    private void replaceChild(int parent, int old, int replacement) {
+        if (parent == NIL) {
+            root = replacement;
+        } else if (left(parent) == old) {
+            setLeft(parent, replacement);
+        } else {
+            setRight(parent, replacement);
+        }
+    }
+
+    private void update(int node) {
+        heights[node] = (byte) (Math.max(heights[left(node)], heights[right(node)]) + 1);
+    }
+
+    private int rotate(int node) {
+        update(node);
+
+        int l = left(node);
+        int r = right(node);
+        if (heights[l] - heights[r] > 1) {
+            // left heavy
+            if (heights[left(l)] - heights[right(l)] >= 0) {
+                // left left case
+                return rightRotate(node);
+            }
+            // left right case
+            setLeft(node, leftRotate(l));
+            return rightRotate(node);
+        }
+
+        if (heights[l] - heights[r] < -1) {
+            // right heavy
+            if (heights[left(r)] - heights[right(r)] <= 0) {
+                // right right case
+                return leftRotate(node);
+            }
+            // right left case
+            setRight(node, rightRotate(r));
+            return leftRotate(node);
+        }
+
+        return node;
+    }
+
+    private int rightRotate(int p) {
+        int c = left(p);
+        int t = right(c);
+
+        setRight(c, p);
+        setLeft(p, t);
+
+        update(p);
+        update(c);
+
+        return c;
+    }
+
+    private int leftRotate(int c) {
+        int p = right(c);
+        int t = left(p);
+
+        setLeft(p, c);
+        setRight(c, t);
+
+        update(c);
+        update(p);
+
+        return p;
+    }
+
+    public void populate(int[] nums) {
+        for (int i = 0; i < nums.length; i++) {
+            this.insert(nums[i]);
+        }
+    }
+
+    public void populatedSorted(int[] nums) {
+        populatedSorted(nums, 0, nums.length);
+    }
+
+    private void populatedSorted(int[] nums, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+
+        int mid = (start + end) / 2;
+
+        this.insert(nums[mid]);
+        populatedSorted(nums, start, mid);
+        populatedSorted(nums, mid + 1, end);
+    }
+
+    public boolean balanced() {
+        return balanced(root);
+    }
+
+    private boolean balanced(int node) {
+        if (node == NIL) {
+            return true;
+        }
+        return Math.abs(heights[left(node)] - heights[right(node)]) <= 1 && balanced(left(node)) && balanced(right(node));
+    }
+
+    public void display() {
+        display(root, "Root Node: ");
+    }
+
+    private void display(int node, String details) {
+        if (node == NIL) {
+            return;
+        }
+        System.out.println(details + key(node));
+        display(left(node), "Left child of " + key(node) + " : ");
+        display(right(node), "Right child of " + key(node) + " : ");
+    }
+}
@@ -0,0 +1,91 @@
+package com.trees;
+
+import com.trees.avl.AVL;
+
+import java.util.Random;
+
+// memory per element and build/contains time of the array backed tree against the node based AVL
+// the compacted row times compact() instead of the inserts
+class ArrayAVLBenchmark {
+    private static final int N = 5_000_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int[] values = new int[N];
+        Random random = new Random(42);
+        for (int i = 0; i < N; i++) {
+            values[i] = random.nextInt();
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+            nodes(values);
+            arrays(values);
+        }
+    }
+
+    private static void nodes(int[] values) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        AVL tree = new AVL();
+        for (int value : values) {
+            tree.insert(value);
+        }
+        long insert = System.nanoTime() - start;
+        long bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int value : values) {
+            checksum += tree.contains(value) ? 1 : 0;
+        }
+        long lookup = System.nanoTime() - start;
+
+        report("AVL", insert, lookup, bytes, tree.size(), checksum);
+    }
+
+    private static void arrays(int[] values) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        ArrayAVL tree = new ArrayAVL();
+        for (int value : values) {
+            tree.insert(value);
+        }
+        long insert = System.nanoTime() - start;
+        long bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int value : values) {
+            checksum += tree.contains(value) ? 1 : 0;
+        }
+        long lookup = System.nanoTime() - start;
+        report("ArrayAVL", insert, lookup, bytes, tree.size(), checksum);
+
+        start = System.nanoTime();
+        tree.compact();
+        long compact = System.nanoTime() - start;
+        bytes = usedMemory() - before;
+
+        start = System.nanoTime();
+        checksum = 0;
+        for (int value : values) {
+            checksum += tree.contains(value) ? 1 : 0;
+        }
+        lookup = System.nanoTime() - start;
+        report("compacted", compact, lookup, bytes, tree.size(), checksum);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void report(String name, long build, long lookup, long bytes, int size, long checksum) {
+        System.out.printf("%-10s build %6d ms  contains %6d ms  %5.1f bytes/element  (%d)%n",
+                name, build / 1_000_000, lookup / 1_000_000, (double) bytes / size, checksum);
+    }
+}
@@ -0,0 +1,408 @@
+package com.trees;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// B+ tree over ints: every key lives in a leaf, inner nodes only hold separators, and the leaves
+// are linked left to right so a range scan walks whole arrays instead of going back up the tree
+// with 128 keys per node ten million keys are four levels deep, and each level is a binary
+// search inside one array rather than a pointer chase per comparison
+//
+// in an inner node children[i] holds the keys below keys[i], children[i + 1] the keys from keys[i] on
+class BPlusTree {
+    private static final int DEFAULT_FANOUT = 128;
+    private static final int MAX_DEPTH = 32;
+
+    private abstract static class Node {
+        // one slot more than the fanout, a node overflows first and is split right after
+        final int[] keys;
+        int count = 0;
+
+        Node(int fanout) {
+            keys = new int[fanout + 1];
+        }
+    }
+
+    private static class Leaf extends Node {
+        Leaf next;
+
+        Leaf(int fanout) {
+            super(fanout);
+        }
+    }
+
+    private static class Inner extends Node {
+        final Node[] children;
+
+        Inner(int fanout) {
+            super(fanout);
+            children = new Node[fanout + 2];
+        }
+    }
+
+    private final int fanout;
+    private final int minKeys;
+
+    private Node root;
+    // leftmost leaf, merges always remove the right one of two leaves so this never changes
+    private final Leaf first;
+    private int size = 0;
+    private int height = 0;
+
+    // the way down of the last insert or delete, reused like the path in AVL
+    private final Inner[] path = new Inner[MAX_DEPTH];
+    private final int[] pathIndex = new int[MAX_DEPTH];
+
+    public BPlusTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    // fanout is the most keys a node can hold
+    public BPlusTree(int fanout) {
+        if (fanout < 3) {
+            throw new IllegalArgumentException("Fanout has to be at least 3!");
+        }
+        this.fanout = fanout;
+        this.minKeys = fanout / 2;
+        this.first = new Leaf(fanout);
+        this.root = first;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // levels above the leaves
+    public int height() {
+        return height;
+    }
+
+    // first index whose key is >= key
+    private static int lowerBound(int[] keys, int count, int key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // first index whose key is > key, which is also the child to follow
+    private static int upperBound(int[] keys, int count, int key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Leaf findLeaf(int key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[upperBound(inner.keys, inner.count, key)];
+        }
+        return (Leaf) node;
+    }
+
+    // like findLeaf, but remembers every inner node and the child taken in path[]
+    private Leaf descend(int key) {
+        Node node = root;
+        int depth = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int index = upperBound(inner.keys, inner.count, key);
+            path[depth] = inner;
+            pathIndex[depth] = index;
+            depth++;
+            node = inner.children[index];
+        }
+        return (Leaf) node;
+    }
+
+    public boolean contains(int key) {
+        Leaf leaf = findLeaf(key);
+        int index = lowerBound(leaf.keys, leaf.count, key);
+        return index < leaf.count && leaf.keys[index] == key;
+    }
+
+    // false if the key was already there
+    public boolean insert(int key) {
+        Leaf leaf = descend(key);
+        int index = lowerBound(leaf.keys, leaf.count, key);
+        if (index < leaf.count && leaf.keys[index] == key) {
+            clearPath();
+            return false;
+        }
+
+        System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+        leaf.keys[index] = key;
+        leaf.count++;
+        size++;
+
+        if (leaf.count > fanout) {
+            splitLeaf(leaf);
+        }
+        clearPath();
+        return true;
+    }
+
+    public void populate(int[] nums) {
+        for (int i = 0; i < nums.length; i++) {
+            this.insert(nums[i]);
+        }
+    }
+
+    private void splitLeaf(Leaf leaf) {
+        int mid = leaf.count / 2;
+        Leaf right = new Leaf(fanout);
+        right.count = leaf.count - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.count);
+        leaf.count = mid;
+
+        right.next = leaf.next;
+        leaf.next = right;
+
+        insertIntoParent(height - 1, leaf, right.keys[0], right);
+    }
+
+    private void splitInner(int depth, Inner node) {
+        // the middle key moves up, it is not kept in either half
+        int mid = node.count / 2;
+        int separator = node.keys[mid];
+
+        Inner right = new Inner(fanout);
+        right.count = node.count - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(node.children, mid + 1, right.children, 0, right.count + 1);
+        Arrays.fill(node.children, mid + 1, node.count + 1, null);
+        node.count = mid;
+
+        insertIntoParent(depth - 1, node, separator, right);
+    }
+
+    // puts the separator and the new right node into path[depth], next to left
+    private void insertIntoParent(int depth, Node left, int separator, Node right) {
+        if (depth < 0) {
+            Inner newRoot = new Inner(fanout);
+            newRoot.keys[0] = separator;
+            newRoot.children[0] = left;
+            newRoot.children[1] = right;
+            newRoot.count = 1;
+            root = newRoot;
+            height++;
+            return;
+        }
+
+        Inner parent = path[depth];
+        int index = pathIndex[depth];
+        System.arraycopy(parent.keys, index, parent.keys, index + 1, parent.count - index);
+        System.arraycopy(parent.children, index + 1, parent.children, index + 2, parent.count - index);
+        parent.keys[index] = separator;
+        parent.children[index + 1] = right;
+        parent.count++;
+
+        if (parent.count > fanout) {
+            splitInner(depth, parent);
+        }
+    }
+
+    // false if the key was not there
+    public boolean delete(int key) {
+        Leaf leaf = descend(key);
+        int index = lowerBound(leaf.keys, leaf.count, key);
+        if (index == leaf.count || leaf.keys[index] != key) {
+            clearPath();
+            return false;
+        }
+
+        System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.count - index - 1);
+        leaf.count--;
+        size--;
+
+        // separators above may still name the deleted key, they stay correct as bounds
+        if (leaf != root && leaf.count < minKeys) {
+            rebalance(height - 1, leaf);
+        }
+        clearPath();
+        return true;
+    }
+
+    // node, a child of path[depth], has too few keys: borrow from a sibling or merge with it
+    private void rebalance(int depth, Node node) {
+        Inner parent = path[depth];
+        int index = pathIndex[depth];
+        Node left = index > 0 ? parent.children[index - 1] : null;
+        Node right = index < parent.count ? parent.children[index + 1] : null;
+
+        if (left != null && left.count > minKeys) {
+            borrowFromLeft(parent, index, left, node);
+            return;
+        }
+        if (right != null && right.count > minKeys) {
+            borrowFromRight(parent, index, node, right);
+            return;
+        }
+
+        // the sibling is at the minimum, so both fit into one node
+        if (left != null) {
+            merge(parent, index - 1, left, node);
+        } else {
+            merge(parent, index, node, right);
+        }
+
+        if (parent == root) {
+            if (parent.count == 0) {
+                root = parent.children[0];
+                height--;
+            }
+        } else if (parent.count < minKeys) {
+            rebalance(depth - 1, parent);
+        }
+    }
+
+    private void borrowFromLeft(Inner parent, int index, Node left, Node node) {
+        System.arraycopy(node.keys, 0, node.keys, 1, node.count);
+        if (node instanceof Leaf) {
+            node.keys[0] = left.keys[left.count - 1];
+            parent.keys[index - 1] = node.keys[0];
+        } else {
+            Inner inner = (Inner) node;
+            Inner from = (Inner) left;
+            System.arraycopy(inner.children, 0, inner.children, 1, inner.count + 1);
+            // the separator comes down, the left sibling's last key goes up
+            inner.keys[0] = parent.keys[index - 1];
+            inner.children[0] = from.children[from.count];
+            from.children[from.count] = null;
+            parent.keys[index - 1] = from.keys[from.count - 1];
+        }
+        node.count++;
+        left.count--;
+    }
+
+    private void borrowFromRight(Inner parent, int index, Node node, Node right) {
+        if (node instanceof Leaf) {
+            node.keys[node.count] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            parent.keys[index] = right.keys[0];
+        } else {
+            Inner inner = (Inner) node;
+            Inner from = (Inner) right;
+            inner.keys[inner.count] = parent.keys[index];
+            inner.children[inner.count + 1] = from.children[0];
+            parent.keys[index] = from.keys[0];
+            System.arraycopy(from.keys, 1, from.keys, 0, from.count - 1);
+            System.arraycopy(from.children, 1, from.children, 0, from.count);
+            from.children[from.count] = null;
+        }
+        node.count++;
+        right.count--;
+    }
+
+    // moves everything of right into left and drops the separator at parent.keys[separator]
+    private void merge(Inner parent, int separator, Node left, Node right) {
+        if (left instanceof Leaf) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            ((Leaf) left).next = ((Leaf) right).next;
+        } else {
+            Inner into = (Inner) left;
+            Inner from = (Inner) right;
+            into.keys[into.count] = parent.keys[separator];
+            System.arraycopy(from.keys, 0, into.keys, into.count + 1, from.count);
+            System.arraycopy(from.children, 0, into.children, into.count + 1, from.count + 1);
+            into.count += from.count + 1;
+        }
+
+        System.arraycopy(parent.keys, separator + 1, parent.keys, separator, parent.count - separator - 1);
+        System.arraycopy(parent.children, separator + 2, parent.children, separator + 1, parent.count - separator - 1);
+        parent.children[parent.count] = null;
+        parent.count--;
+    }
+
+    private void clearPath() {
+        Arrays.fill(path, 0, Math.min(height + 1, MAX_DEPTH), null);
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new RangeIterator(first, 0, Integer.MAX_VALUE, true);
+    }
+
+    // keys from from (inclusive) to to (exclusive), in order
+    public PrimitiveIterator.OfInt range(int from, int to) {
+        Leaf leaf = findLeaf(from);
+        return new RangeIterator(leaf, lowerBound(leaf.keys, leaf.count, from), to, false);
+    }
+
+    // walks the leaf chain, one array at a time
+    private static class RangeIterator implements PrimitiveIterator.OfInt {
+        private Leaf leaf;
+        private int index;
+        private final int to;
+        private final boolean unbounded;
+
+        RangeIterator(Leaf leaf, int index, int to, boolean unbounded) {
+            this.leaf = leaf;
+            this.index = index;
+            this.to = to;
+            this.unbounded = unbounded;
+            skipEmpty();
+        }
+
+        private void skipEmpty() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null && (unbounded || leaf.keys[index] < to);
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int key = leaf.keys[index++];
+            skipEmpty();
+            return key;
+        }
+    }
+
+    public void display() {
+        display(root, 0);
+    }
+
+    private void display(Node node, int depth) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("  ".repeat(depth));
+        builder.append(node instanceof Leaf ? "leaf " : "inner ");
+        builder.append(Arrays.toString(Arrays.copyOf(node.keys, node.count)));
+        System.out.println(builder);
+        if (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            for (int i = 0; i <= inner.count; i++) {
+                display(inner.children[i], depth + 1);
+            }
+        }
+    }
+}
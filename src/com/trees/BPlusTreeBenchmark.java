@@ -0,0 +1,85 @@
+package com.trees;
+
+import com.trees.avl.AVL;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+// random inserts, random lookups and a full ordered scan, B+ tree at a few fanouts against AVL
+// run with -Xmx2g or more, the AVL alone needs about 40 bytes per key
+class BPlusTreeBenchmark {
+    private static final int ROUNDS = 3;
+    private static final int[] FANOUTS = {16, 64, 128, 256};
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int[] values = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+            avl(values);
+            for (int fanout : FANOUTS) {
+                bPlusTree(values, fanout);
+            }
+        }
+    }
+
+    private static void avl(int[] values) {
+        long start = System.nanoTime();
+        AVL tree = new AVL();
+        for (int value : values) {
+            tree.insert(value);
+        }
+        long insert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int value : values) {
+            checksum += tree.contains(value) ? 1 : 0;
+        }
+        long lookup = System.nanoTime() - start;
+
+        // the in order walk is the best scan AVL has
+        start = System.nanoTime();
+        for (int value : tree.toSortedArray()) {
+            checksum += value;
+        }
+        long scan = System.nanoTime() - start;
+
+        report("AVL", insert, lookup, scan, checksum);
+    }
+
+    private static void bPlusTree(int[] values, int fanout) {
+        long start = System.nanoTime();
+        BPlusTree tree = new BPlusTree(fanout);
+        for (int value : values) {
+            tree.insert(value);
+        }
+        long insert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int value : values) {
+            checksum += tree.contains(value) ? 1 : 0;
+        }
+        long lookup = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        PrimitiveIterator.OfInt iterator = tree.iterator();
+        while (iterator.hasNext()) {
+            checksum += iterator.nextInt();
+        }
+        long scan = System.nanoTime() - start;
+
+        report("B+ tree " + fanout, insert, lookup, scan, checksum);
+    }
+
+    private static void report(String name, long insert, long lookup, long scan, long checksum) {
+        System.out.printf("%-12s insert %6d ms  contains %6d ms  scan %5d ms  (%d)%n",
+                name, insert / 1_000_000, lookup / 1_000_000, scan / 1_000_000, checksum);
+    }
+}
@@ -19,11 +19,16 @@ class BST {
     }
 
     private Node root;
+    private int size = 0;
 
     public BST() {
 
     }
 
+    public int size() {
+        return size;
+    }
+
     public int height(Node node) {
         if (node == null) {
             return -1;
@@ -35,6 +40,17 @@ class BST {
         return root == null;
     }
 
+    public boolean contains(int value) {
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                return true;
+            }
+            node = value < node.value ? node.left : node.right;
+        }
+        return false;
+    }
+
     public void insert(int value) {
         root = insert(value, root);
     }
@@ -42,6 +58,7 @@ class BST {
     private Node insert(int value, Node node) {
         if (node == null) {
             node = new Node(value);
+            size++;
             return node;
         }
 
@@ -63,20 +80,68 @@ class BST {
         }
     }
 
+    // builds the nodes straight from the array in O(n) instead of n inserts from the root
+    // the array has to be sorted, repeats are dropped. a non empty tree is merged with it
     public void populatedSorted(int[] nums) {
-        populatedSorted(nums, 0, nums.length);
+        int[] values = SortedArrays.distinct(nums);
+        if (!isEmpty()) {
+            values = SortedArrays.union(toSortedArray(), values);
+        }
+        root = build(values, 0, values.length);
+        size = values.length;
     }
 
-    private void populatedSorted(int[] nums, int start, int end) {
+    private Node build(int[] values, int start, int end) {
         if (start >= end) {
-            return;
+            return null;
+        }
+
+        int mid = (start + end) >>> 1;
+
+        Node node = new Node(values[mid]);
+        node.left = build(values, start, mid);
+        node.right = build(values, mid + 1, end);
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        return node;
+    }
+
+    // in order, without recursion, so a degenerate tree does not overflow the stack
+    public int[] toSortedArray() {
+        int[] values = new int[size];
+        Node[] stack = new Node[height(root) + 1];
+        int top = 0;
+        int n = 0;
+        Node node = root;
+        while (node != null || top > 0) {
+            while (node != null) {
+                stack[top++] = node;
+                node = node.left;
+            }
+            node = stack[--top];
+            values[n++] = node.value;
+            node = node.right;
         }
+        return values;
+    }
 
-        int mid = (start + end) / 2;
+    // the set operations flatten both trees, merge in O(m + n) and build a new balanced tree
+    public BST union(BST other) {
+        return of(SortedArrays.union(toSortedArray(), other.toSortedArray()));
+    }
+
+    public BST intersection(BST other) {
+        return of(SortedArrays.intersection(toSortedArray(), other.toSortedArray()));
+    }
+
+    public BST difference(BST other) {
+        return of(SortedArrays.difference(toSortedArray(), other.toSortedArray()));
+    }
 
-        this.insert(nums[mid]);
-        populatedSorted(nums, start, mid);
-        populatedSorted(nums, mid + 1, end);
+    private static BST of(int[] values) {
+        BST tree = new BST();
+        tree.root = tree.build(values, 0, values.length);
+        tree.size = values.length;
+        return tree;
     }
 
     public boolean balanced() {
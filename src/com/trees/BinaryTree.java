@@ -1,9 +1,23 @@
 package com.trees;
 
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Scanner;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
+// the traversals keep their own stack or queue instead of recursing, so a skewed tree of millions of
+// nodes is walked without a StackOverflowError, and the values go to the caller instead of System.out
 class BinaryTree {
 
+    public enum Order {
+        PRE, IN, POST, LEVEL
+    }
+
     public BinaryTree() {
 
     }
@@ -48,6 +62,25 @@ class BinaryTree {
         }
     }
 
+    // complete tree in level order: the children of values[i] are values[2i + 1] and values[2i + 2]
+    public void populate(int[] values) {
+        if (values.length == 0) {
+            root = null;
+            return;
+        }
+        Node[] nodes = new Node[values.length];
+        for (int i = values.length - 1; i >= 0; i--) {
+            nodes[i] = new Node(values[i]);
+            if (2 * i + 1 < values.length) {
+                nodes[i].left = nodes[2 * i + 1];
+            }
+            if (2 * i + 2 < values.length) {
+                nodes[i].right = nodes[2 * i + 2];
+            }
+        }
+        root = nodes[0];
+    }
+
     public void display() {
         display(this.root, "");
     }
@@ -84,42 +117,238 @@ class BinaryTree {
     }
 
     public void preOrder() {
-        preOrder(root);
+        print(Order.PRE);
     }
 
-    private void preOrder(Node node) {
-        if (node == null) {
-            return;
+    public void inOrder() {
+        print(Order.IN);
+    }
+
+    public void postOrder() {
+        print(Order.POST);
+    }
+
+    public void levelOrder() {
+        print(Order.LEVEL);
+    }
+
+    private void print(Order order) {
+        forEach(order, value -> System.out.print(value + " "));
+        System.out.println();
+    }
+
+    // in order
+    public void forEach(IntConsumer action) {
+        forEach(Order.IN, action);
+    }
+
+    public void forEach(Order order, IntConsumer action) {
+        iterator(order).forEachRemaining(action);
+    }
+
+    public PrimitiveIterator.OfInt iterator(Order order) {
+        switch (order) {
+            case PRE:
+                return new PreOrderIterator(root);
+            case IN:
+                return new InOrderIterator(root);
+            case POST:
+                return new PostOrderIterator(root);
+            default:
+                return new LevelOrderIterator(root);
         }
-        System.out.print(node.value + " ");
-        preOrder(node.left);
-        preOrder(node.right);
     }
 
-    public void inOrder() {
-        preOrder(root);
+    public Spliterator.OfInt spliterator(Order order) {
+        return Spliterators.spliteratorUnknownSize(iterator(order), Spliterator.ORDERED | Spliterator.NONNULL);
     }
 
-    private void inOrder(Node node) {
-        if (node == null) {
-            return;
+    public IntStream stream(Order order) {
+        return StreamSupport.intStream(spliterator(order), false);
+    }
+
+    // Morris traversal: no stack at all, the way back up is a temporary link from the rightmost node of
+    // each left subtree to its ancestor, removed again on the second visit. the tree is only back to
+    // normal once the walk is done, so it must not run next to another traversal or a change
+    public void morrisInOrder(IntConsumer action) {
+        Node node = root;
+        while (node != null) {
+            if (node.left == null) {
+                action.accept(node.value);
+                node = node.right;
+                continue;
+            }
+
+            Node predecessor = rightmostBelow(node);
+            if (predecessor.right == null) {
+                predecessor.right = node;
+                node = node.left;
+            } else {
+                predecessor.right = null;
+                action.accept(node.value);
+                node = node.right;
+            }
         }
-        preOrder(node.left);
-        System.out.print(node.value + " ");
-        preOrder(node.right);
     }
 
-    public void postOrder() {
-        preOrder(root);
+    // same as morrisInOrder, only the value is handed out on the first visit instead of the second
+    public void morrisPreOrder(IntConsumer action) {
+        Node node = root;
+        while (node != null) {
+            if (node.left == null) {
+                action.accept(node.value);
+                node = node.right;
+                continue;
+            }
+
+            Node predecessor = rightmostBelow(node);
+            if (predecessor.right == null) {
+                action.accept(node.value);
+                predecessor.right = node;
+                node = node.left;
+            } else {
+                predecessor.right = null;
+                node = node.right;
+            }
+        }
     }
 
-    private void postOrder(Node node) {
-        if (node == null) {
-            return;
+    // rightmost node of the left subtree, not following a temporary link back to node
+    private static Node rightmostBelow(Node node) {
+        Node predecessor = node.left;
+        while (predecessor.right != null && predecessor.right != node) {
+            predecessor = predecessor.right;
+        }
+        return predecessor;
+    }
+
+    // the iterators hold at most one path (or one level) of nodes, never the whole tree
+
+    private static class PreOrderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+
+        PreOrderIterator(Node root) {
+            if (root != null) {
+                stack.push(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = stack.pop();
+            if (node.right != null) {
+                stack.push(node.right);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+            }
+            return node.value;
+        }
+    }
+
+    private static class InOrderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+
+        InOrderIterator(Node root) {
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = stack.pop();
+            pushLeft(node.right);
+            return node.value;
+        }
+    }
+
+    // a node is handed out when we come back to it from its right subtree (or it has none)
+    private static class PostOrderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+        private Node current;
+        private Node last;
+
+        PostOrderIterator(Node root) {
+            current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (true) {
+                if (current != null) {
+                    stack.push(current);
+                    current = current.left;
+                    continue;
+                }
+                Node top = stack.peek();
+                if (top.right != null && top.right != last) {
+                    current = top.right;
+                } else {
+                    last = stack.pop();
+                    return last.value;
+                }
+            }
+        }
+    }
+
+    private static class LevelOrderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> queue = new ArrayDeque<>();
+
+        LevelOrderIterator(Node root) {
+            if (root != null) {
+                queue.add(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (queue.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = queue.poll();
+            if (node.left != null) {
+                queue.add(node.left);
+            }
+            if (node.right != null) {
+                queue.add(node.right);
+            }
+            return node.value;
         }
-        preOrder(node.left);
-        preOrder(node.right);
-        System.out.print(node.value + " ");
     }
 
 }
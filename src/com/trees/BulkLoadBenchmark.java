@@ -0,0 +1,70 @@
+package com.trees;
+
+import com.trees.avl.AVL;
+
+import java.util.Random;
+
+// building from sorted keys: inserts in midpoint order (what populatedSorted used to do)
+// against the direct O(n) build, then the merge based set operations on two large trees
+class BulkLoadBenchmark {
+    private static final int N = 5_000_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int[] sorted = new int[N];
+        for (int i = 0; i < N; i++) {
+            sorted[i] = i * 2;
+        }
+
+        int[] other = new int[N];
+        Random random = new Random(42);
+        int value = 0;
+        for (int i = 0; i < N; i++) {
+            value += 1 + random.nextInt(3);
+            other[i] = value;
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+
+            long start = System.nanoTime();
+            AVL inserted = new AVL();
+            insertMidpoints(inserted, sorted, 0, N);
+            report("AVL inserts", start, inserted.size());
+
+            start = System.nanoTime();
+            AVL a = new AVL();
+            a.populatedSorted(sorted);
+            report("AVL build", start, a.size());
+
+            start = System.nanoTime();
+            BST bst = new BST();
+            bst.populatedSorted(sorted);
+            report("BST build", start, bst.size());
+
+            AVL b = new AVL();
+            b.populatedSorted(other);
+
+            start = System.nanoTime();
+            report("AVL union", start, a.union(b).size());
+            start = System.nanoTime();
+            report("AVL intersection", start, a.intersection(b).size());
+            start = System.nanoTime();
+            report("AVL difference", start, a.difference(b).size());
+        }
+    }
+
+    private static void insertMidpoints(AVL tree, int[] nums, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        int mid = (start + end) >>> 1;
+        tree.insert(nums[mid]);
+        insertMidpoints(tree, nums, start, mid);
+        insertMidpoints(tree, nums, mid + 1, end);
+    }
+
+    private static void report(String name, long start, int size) {
+        System.out.printf("%-18s %6d ms  (%d)%n", name, (System.nanoTime() - start) / 1_000_000, size);
+    }
+}
@@ -0,0 +1,256 @@
+package com.trees;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// lock free sorted set of ints (Herlihy and Shavit's skip list)
+// delete marks the victim's links from the top down, and marking the bottom link is the moment it is
+// gone. whoever walks past a marked node afterwards unlinks it
+// a mark is a Marker node swapped in front of the real successor, like ConcurrentSkipListMap does,
+// so an unmarked link is a plain array slot and a step costs one pointer, not three
+// contains and the iterators never write, they step over marked nodes, so readers do not slow each other down
+class ConcurrentSkipList {
+    private static final int MAX_LEVEL = 32;
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    private static class Node {
+        final int key;
+        final Node[] next;
+
+        Node(int key, int height) {
+            this.key = key;
+            this.next = new Node[height];
+        }
+    }
+
+    // sits in a link of a deleted node and remembers where that link went
+    private static final class Marker extends Node {
+        final Node successor;
+
+        Marker(Node successor) {
+            super(0, 0);
+            this.successor = successor;
+        }
+    }
+
+    // below every key, its own key is never looked at. null at the end of a level is above every key
+    private final Node head = new Node(0, MAX_LEVEL);
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentSkipList() {
+
+    }
+
+    // one level with probability 1/2, two with 1/4, ...
+    private static int randomHeight() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1))) + 1;
+    }
+
+    // the raw link, possibly a Marker
+    private static Node link(Node node, int level) {
+        return (Node) NEXT.getAcquire(node.next, level);
+    }
+
+    private static boolean casLink(Node node, int level, Node expected, Node value) {
+        return NEXT.compareAndSet(node.next, level, expected, value);
+    }
+
+    // where the link leads, marked or not
+    private static Node successor(Node node, int level) {
+        Node next = link(node, level);
+        return next instanceof Marker ? ((Marker) next).successor : next;
+    }
+
+    // fills preds and succs with the last node below key and the first one from key on, at every level,
+    // unlinking the marked nodes on the way. true if the bottom level holds the key
+    private boolean find(int key, Node[] preds, Node[] succs) {
+        retry:
+        while (true) {
+            Node pred = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node curr = link(pred, level);
+                if (curr instanceof Marker) {
+                    // pred got deleted under us
+                    continue retry;
+                }
+                while (curr != null) {
+                    Node succ = link(curr, level);
+                    if (succ instanceof Marker) {
+                        Node next = ((Marker) succ).successor;
+                        if (!casLink(pred, level, curr, next)) {
+                            continue retry;
+                        }
+                        curr = next;
+                        continue;
+                    }
+                    if (curr.key >= key) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0] != null && succs[0].key == key;
+        }
+    }
+
+    // false if the key was already there
+    public boolean insert(int key) {
+        int height = randomHeight();
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+
+        while (true) {
+            if (find(key, preds, succs)) {
+                return false;
+            }
+
+            // plain writes are fine, the node is published by the compareAndSet below
+            Node node = new Node(key, height);
+            for (int level = 0; level < height; level++) {
+                node.next[level] = succs[level];
+            }
+
+            // linked at the bottom means inserted, the upper levels are only shortcuts
+            if (!casLink(preds[0], 0, succs[0], node)) {
+                continue;
+            }
+            size.increment();
+
+            for (int level = 1; level < height; level++) {
+                while (true) {
+                    Node succ = succs[level];
+                    Node current = link(node, level);
+                    if (current instanceof Marker) {
+                        // deleted while we were still linking, leave the rest to the deleter
+                        return true;
+                    }
+                    if (current != succ && !casLink(node, level, current, succ)) {
+                        continue;
+                    }
+                    if (casLink(preds[level], level, succ, node)) {
+                        break;
+                    }
+                    find(key, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    // false if the key was not there
+    public boolean delete(int key) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+
+        if (!find(key, preds, succs)) {
+            return false;
+        }
+
+        Node victim = succs[0];
+        for (int level = victim.next.length - 1; level > 0; level--) {
+            while (true) {
+                Node succ = link(victim, level);
+                if (succ instanceof Marker || casLink(victim, level, succ, new Marker(succ))) {
+                    break;
+                }
+            }
+        }
+
+        while (true) {
+            Node succ = link(victim, 0);
+            if (succ instanceof Marker) {
+                // someone else deleted it first
+                return false;
+            }
+            if (casLink(victim, 0, succ, new Marker(succ))) {
+                size.decrement();
+                // unlinks the victim everywhere
+                find(key, preds, succs);
+                return true;
+            }
+        }
+    }
+
+    public boolean contains(int key) {
+        Node curr = ceilingNode(key);
+        return curr != null && curr.key == key;
+    }
+
+    // first unmarked node from key on, without unlinking anything
+    private Node ceilingNode(int key) {
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = successor(pred, level);
+            while (curr != null) {
+                Node succ = link(curr, level);
+                if (succ instanceof Marker) {
+                    curr = ((Marker) succ).successor;
+                    continue;
+                }
+                if (curr.key >= key) {
+                    break;
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+        return curr;
+    }
+
+    // a snapshot only when nobody is writing
+    public int size() {
+        return size.intValue();
+    }
+
+    public boolean isEmpty() {
+        return ceilingNode(Integer.MIN_VALUE) == null;
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new RangeIterator(ceilingNode(Integer.MIN_VALUE), Integer.MAX_VALUE, true);
+    }
+
+    // keys from from (inclusive) to to (exclusive), in order
+    // weakly consistent: a key present for the whole walk is seen, concurrent changes may or may not be
+    public PrimitiveIterator.OfInt range(int from, int to) {
+        return new RangeIterator(ceilingNode(from), to, false);
+    }
+
+    private static class RangeIterator implements PrimitiveIterator.OfInt {
+        private Node node;
+        private final int to;
+        private final boolean unbounded;
+
+        RangeIterator(Node node, int to, boolean unbounded) {
+            this.node = node;
+            this.to = to;
+            this.unbounded = unbounded;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return node != null && (unbounded || node.key < to);
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int key = node.key;
+            node = successor(node, 0);
+            while (node != null && link(node, 0) instanceof Marker) {
+                node = successor(node, 0);
+            }
+            return key;
+        }
+    }
+}
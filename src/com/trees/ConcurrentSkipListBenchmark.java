@@ -0,0 +1,141 @@
+package com.trees;
+
+import com.trees.avl.AVL;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// contains/insert/delete mixes from 1 to 64 threads, with 100%, 90% and 50% reads
+// the baseline is an AVL behind one lock, the way the leaderboard uses it today, and the JDK's
+// ConcurrentSkipListSet shows what a boxed skip list does on the same machine
+class ConcurrentSkipListBenchmark {
+    private static final int KEY_RANGE = 2_000_000;
+    private static final long DURATION_MS = 1000;
+    private static final int MAX_THREADS = 64;
+    private static final int[] READ_PERCENTS = {100, 90, 50};
+
+    interface Target {
+        boolean insert(int key);
+
+        boolean delete(int key);
+
+        boolean contains(int key);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : MAX_THREADS;
+
+        for (int reads : READ_PERCENTS) {
+            System.out.println(reads + "% reads");
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                double locked = run(lockedAvl(), threads, reads);
+                double skipList = run(skipList(), threads, reads);
+                double jdk = run(jdkSkipList(), threads, reads);
+                System.out.printf("%3d threads  synchronized AVL: %,12.0f ops/s  skip list: %,12.0f ops/s  JDK: %,12.0f ops/s%n",
+                        threads, locked, skipList, jdk);
+            }
+        }
+    }
+
+    private static Target lockedAvl() {
+        AVL tree = new AVL();
+        return new Target() {
+            public synchronized boolean insert(int key) {
+                int size = tree.size();
+                tree.insert(key);
+                return tree.size() != size;
+            }
+
+            public synchronized boolean delete(int key) {
+                return tree.delete(key);
+            }
+
+            public synchronized boolean contains(int key) {
+                return tree.contains(key);
+            }
+        };
+    }
+
+    private static Target skipList() {
+        ConcurrentSkipList list = new ConcurrentSkipList();
+        return new Target() {
+            public boolean insert(int key) {
+                return list.insert(key);
+            }
+
+            public boolean delete(int key) {
+                return list.delete(key);
+            }
+
+            public boolean contains(int key) {
+                return list.contains(key);
+            }
+        };
+    }
+
+    private static Target jdkSkipList() {
+        ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+        return new Target() {
+            public boolean insert(int key) {
+                return set.add(key);
+            }
+
+            public boolean delete(int key) {
+                return set.remove(key);
+            }
+
+            public boolean contains(int key) {
+                return set.contains(key);
+            }
+        };
+    }
+
+    // half of the key range is filled up front, so inserts and deletes hit about half the time
+    private static double run(Target set, int threads, int reads) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < KEY_RANGE / 2; i++) {
+            set.insert(random.nextInt(KEY_RANGE));
+        }
+
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom local = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.currentTimeMillis() + DURATION_MS;
+                long count = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    for (int i = 0; i < 1000; i++) {
+                        int key = local.nextInt(KEY_RANGE);
+                        int dice = local.nextInt(100);
+                        if (dice < reads) {
+                            set.contains(key);
+                        } else if ((dice & 1) == 0) {
+                            set.insert(key);
+                        } else {
+                            set.delete(key);
+                        }
+                    }
+                    count += 1000;
+                }
+                ops.add(count);
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() * 1000.0 / DURATION_MS;
+    }
+}
@@ -0,0 +1,87 @@
+package com.trees;
+
+import java.util.Random;
+
+// random contains() lookups on a sorted set larger than the L3 cache (16M ints = 64 MB by default)
+// BST against the binary search from BinarySearch (copied here, it lives in the default package)
+// against EytzingerSet one key at a time and in batches. run with -Xmx2g or more for the BST
+class EytzingerBenchmark {
+    private static final int QUERIES = 5_000_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 16_000_000;
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i * 3;
+        }
+
+        int[] queries = new int[QUERIES];
+        Random random = new Random(42);
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt(n * 3);
+        }
+
+        BST bst = new BST();
+        bst.populatedSorted(sorted);
+        EytzingerSet eytzinger = new EytzingerSet(sorted);
+        boolean[] results = new boolean[QUERIES];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+
+            long start = System.nanoTime();
+            long found = 0;
+            for (int query : queries) {
+                found += bst.contains(query) ? 1 : 0;
+            }
+            report("BST", start, found);
+
+            start = System.nanoTime();
+            found = 0;
+            for (int query : queries) {
+                found += binarySearch(sorted, query) >= 0 ? 1 : 0;
+            }
+            report("binary search", start, found);
+
+            start = System.nanoTime();
+            found = 0;
+            for (int query : queries) {
+                found += eytzinger.contains(query) ? 1 : 0;
+            }
+            report("Eytzinger", start, found);
+
+            start = System.nanoTime();
+            eytzinger.contains(queries, results);
+            found = 0;
+            for (boolean result : results) {
+                found += result ? 1 : 0;
+            }
+            report("Eytzinger batch", start, found);
+        }
+    }
+
+    // same loop as BinarySearch.binarySearch
+    private static int binarySearch(int[] arr, int target) {
+        int start = 0;
+        int end = arr.length - 1;
+
+        while (start <= end) {
+            int mid = start + (end - start) / 2;
+
+            if (target < arr[mid]) {
+                end = mid - 1;
+            } else if (target > arr[mid]) {
+                start = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static void report(String name, long start, long found) {
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-16s %6d ms  %6.1f ns/lookup  (%d)%n", name, nanos / 1_000_000, (double) nanos / QUERIES, found);
+    }
+}
@@ -0,0 +1,158 @@
+package com.trees;
+
+import java.util.Arrays;
+
+// read only sorted set of ints in Eytzinger (breadth first) order: the children of tree[k] are
+// tree[2k] and tree[2k + 1], so the top levels of every search share the first few cache lines and
+// a search is a loop of k = 2k + (tree[k] < key) with nothing to mispredict
+//
+// the array is padded to a full last level with MIN_VALUE, a search past the real nodes always goes
+// right and the answer falls out of the low bits of k, so every search takes exactly the same steps
+// Java has no prefetch instruction. a single search reads the node it will need four levels later
+// with a plain load off the critical path, and the batch methods run BATCH searches in lockstep:
+// their loads do not depend on each other and the CPU has them in flight at once
+class EytzingerSet {
+    private static final int BATCH = 16;
+    // the padded array of a bigger set would need 2^31 slots
+    private static final int MAX_SIZE = (1 << 30) - 1;
+
+    private final int[] tree;
+    // index in the sorted input of every real slot
+    private final int[] positions;
+    private final int size;
+    private final int levels;
+    // keeps the JIT from dropping the prefetching loads, the value means nothing
+    private int prefetched;
+
+    // the array has to be sorted, repeats are dropped
+    public EytzingerSet(int[] sorted) {
+        int[] values = SortedArrays.distinct(sorted);
+        if (values.length > MAX_SIZE) {
+            throw new IllegalArgumentException("Set can hold at most " + MAX_SIZE + " elements!");
+        }
+        size = values.length;
+
+        int capacity = Math.max(2, Integer.highestOneBit(size) << 1);
+        levels = Integer.numberOfTrailingZeros(capacity);
+        tree = new int[capacity];
+        positions = new int[size + 1];
+        Arrays.fill(tree, size + 1, capacity, Integer.MIN_VALUE);
+
+        fill(values);
+    }
+
+    // in order walk over the implicit tree, handing out the sorted values one after the other
+    private void fill(int[] values) {
+        int next = 0;
+        int k = 1;
+        while (next < size) {
+            // all the way left
+            while (2 * k <= size) {
+                k = 2 * k;
+            }
+            while (true) {
+                tree[k] = values[next];
+                positions[k] = next;
+                next++;
+                if (2 * k + 1 <= size) {
+                    // the right subtree, then its leftmost node again
+                    k = 2 * k + 1;
+                    break;
+                }
+                // back up past every right turn, then once more
+                k >>= Integer.numberOfTrailingZeros(~k) + 1;
+                if (k == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // slot of the smallest element >= key, 0 if there is none
+    private int lowerBoundSlot(int key) {
+        if (key == Integer.MIN_VALUE) {
+            // the padding would not send this key right, but the answer is simply the smallest element
+            return size == 0 ? 0 : slotOfFirst();
+        }
+        int k = 1;
+        int touched = 0;
+        int last = tree.length - 1;
+        // 16 * k overflows on the deep levels of a huge set, so clamp before multiplying
+        int prefetchable = last >>> 4;
+        for (int level = 0; level < levels; level++) {
+            // the 16 great great grandchildren of k sit next to each other, one of them is where the
+            // search will be in four steps. the load does not feed the comparison, so it runs ahead
+            touched += tree[k <= prefetchable ? 16 * k : last];
+            k = 2 * k + (tree[k] < key ? 1 : 0);
+        }
+        prefetched = touched;
+        // undo the right turns taken after the answer, and the left turn onto it
+        return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    private int slotOfFirst() {
+        int k = 1;
+        while (2 * k <= size) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    public boolean contains(int key) {
+        int slot = lowerBoundSlot(key);
+        return slot != 0 && tree[slot] == key;
+    }
+
+    // index in the sorted input of the first element >= key, size() if there is none
+    public int lowerBound(int key) {
+        int slot = lowerBoundSlot(key);
+        return slot == 0 ? size : positions[slot];
+    }
+
+    public void contains(int[] keys, boolean[] results) {
+        int[] slots = new int[BATCH];
+        for (int start = 0; start < keys.length; start += BATCH) {
+            int count = Math.min(BATCH, keys.length - start);
+            lowerBoundSlots(keys, start, count, slots);
+            for (int i = 0; i < count; i++) {
+                results[start + i] = slots[i] != 0 && tree[slots[i]] == keys[start + i];
+            }
+        }
+    }
+
+    public void lowerBound(int[] keys, int[] results) {
+        int[] slots = new int[BATCH];
+        for (int start = 0; start < keys.length; start += BATCH) {
+            int count = Math.min(BATCH, keys.length - start);
+            lowerBoundSlots(keys, start, count, slots);
+            for (int i = 0; i < count; i++) {
+                results[start + i] = slots[i] == 0 ? size : positions[slots[i]];
+            }
+        }
+    }
+
+    // one level for every key of the batch before the next level
+    private void lowerBoundSlots(int[] keys, int start, int count, int[] slots) {
+        for (int i = 0; i < count; i++) {
+            slots[i] = 1;
+        }
+        for (int level = 0; level < levels; level++) {
+            for (int i = 0; i < count; i++) {
+                int k = slots[i];
+                slots[i] = 2 * k + (tree[k] < keys[start + i] ? 1 : 0);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int k = slots[i];
+            if (keys[start + i] == Integer.MIN_VALUE) {
+                slots[i] = size == 0 ? 0 : slotOfFirst();
+            } else {
+                slots[i] = k >> (Integer.numberOfTrailingZeros(~k) + 1);
+            }
+        }
+    }
+}
@@ -12,5 +12,17 @@ public class Main {
         int[] nums = { 5, 2, 7, 1, 4, 6, 9, 8, 3, 10 };
         tree.populate(nums);
         tree.display();
+
+        BinaryTree binaryTree = new BinaryTree();
+        binaryTree.populate(new int[]{ 1, 2, 3, 4, 5, 6, 7 });
+        for (BinaryTree.Order order : BinaryTree.Order.values()) {
+            System.out.print(order + ": ");
+            binaryTree.forEach(order, value -> System.out.print(value + " "));
+            System.out.println();
+        }
+        System.out.print("Morris IN: ");
+        binaryTree.morrisInOrder(value -> System.out.print(value + " "));
+        System.out.println();
+        System.out.println("sum: " + binaryTree.stream(BinaryTree.Order.LEVEL).sum());
     }
 }
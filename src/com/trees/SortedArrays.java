@@ -0,0 +1,88 @@
+package com.trees;
+
+import java.util.Arrays;
+
+// merges of strictly increasing int arrays, the building blocks of the bulk set operations on
+// BST and AVL: flatten both trees, merge in one pass, build the result
+public final class SortedArrays {
+
+    private SortedArrays() {
+
+    }
+
+    // copy of a non decreasing array without its repeats, fails if the array is not sorted
+    public static int[] distinct(int[] nums) {
+        int[] result = new int[nums.length];
+        int n = 0;
+        for (int i = 0; i < nums.length; i++) {
+            if (i > 0 && nums[i] < nums[i - 1]) {
+                throw new IllegalArgumentException("Array is not sorted at index " + i + "!");
+            }
+            if (n == 0 || nums[i] != result[n - 1]) {
+                result[n++] = nums[i];
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    public static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[n++] = a[i++];
+        }
+        while (j < b.length) {
+            result[n++] = b[j++];
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    public static int[] intersection(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i++];
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    // everything in a that is not in b
+    public static int[] difference(int[] a, int[] b) {
+        int[] result = new int[a.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length) {
+            if (j == b.length || a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+}
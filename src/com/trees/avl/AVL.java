@@ -1,12 +1,22 @@
 package com.trees.avl;
 
-class AVL {
+import com.trees.SortedArrays;
+
+import java.util.Arrays;
+
+// every node also counts the nodes below it, which gives rank and select in O(log n)
+// insert and delete walk down in a loop and remember the way in path[], then rebalance on the way back up
+public class AVL {
+
+    // an AVL tree of 2^31 nodes is still less than 46 levels deep
+    private static final int MAX_DEPTH = 64;
 
     public class Node {
         private int value;
         private Node left;
         private Node right;
         private int height;
+        private int size = 1;
 
         public Node(int value) {
             this.value = value;
@@ -19,6 +29,9 @@ class AVL {
 
     private Node root;
 
+    // reused by insert and delete so they do not allocate anything but the new node
+    private final Node[] path = new Node[MAX_DEPTH];
+
     public AVL() {
 
     }
@@ -33,53 +46,128 @@ class AVL {
         return node.height;
     }
 
+    public int size() {
+        return size(root);
+    }
+    private int size(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return node.size;
+    }
+
+    private void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
     public void insert(int value) {
-        root = insert(value, root);
+        int depth = 0;
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                clearPath(depth);
+                return;
+            }
+            path[depth++] = node;
+            node = value < node.value ? node.left : node.right;
+        }
+
+        Node leaf = new Node(value);
+        if (depth == 0) {
+            root = leaf;
+            return;
+        }
+
+        Node parent = path[depth - 1];
+        if (value < parent.value) {
+            parent.left = leaf;
+        } else {
+            parent.right = leaf;
+        }
+        retrace(depth);
     }
 
-    private Node insert(int value, Node node) {
+    public boolean delete(int value) {
+        int depth = 0;
+        Node node = root;
+        while (node != null && node.value != value) {
+            path[depth++] = node;
+            node = value < node.value ? node.left : node.right;
+        }
         if (node == null) {
-            node = new Node(value);
-            return node;
+            clearPath(depth);
+            return false;
         }
 
-        if (value < node.value) {
-            node.left = insert(value, node.left);
+        if (node.left != null && node.right != null) {
+            // take the successor's value and remove the successor instead, it has no left child
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.value = successor.value;
+            node = successor;
         }
 
-        if (value > node.value) {
-            node.right = insert(value, node.right);
+        Node child = node.left != null ? node.left : node.right;
+        replaceChild(depth == 0 ? null : path[depth - 1], node, child);
+        retrace(depth);
+        return true;
+    }
+
+    // fixes heights, sizes and balance of path[0 .. depth - 1], bottom up
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            Node node = path[i];
+            Node rotated = rotate(node);
+            if (rotated != node) {
+                replaceChild(i == 0 ? null : path[i - 1], node, rotated);
+            }
+            path[i] = null;
         }
+    }
 
-        node.height = Math.max(height(node.left), height(node.right)) + 1;
-        return rotate(node);
+    // the early returns do not retrace, but must not keep the nodes they walked past alive either
+    private void clearPath(int depth) {
+        Arrays.fill(path, 0, depth, null);
+    }
+
+    private void replaceChild(Node parent, Node old, Node replacement) {
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == old) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
     }
 
     private Node rotate(Node node) {
+        update(node);
+
         if (height(node.left) - height(node.right) > 1) {
             // left heavy
-            if(height(node.left.left) - height(node.left.right) > 0) {
+            if(height(node.left.left) - height(node.left.right) >= 0) {
                 // left left case
                 return rightRotate(node);
             }
-            if(height(node.left.left) - height(node.left.right) < 0) {
-                // left right case
-                node.left = leftRotate(node.left);
-                return rightRotate(node);
-            }
+            // left right case
+            node.left = leftRotate(node.left);
+            return rightRotate(node);
         }
 
         if (height(node.left) - height(node.right) < -1) {
             // right heavy
-            if(height(node.right.left) - height(node.right.right) < 0) {
+            if(height(node.right.left) - height(node.right.right) <= 0) {
                 // right right case
                 return leftRotate(node);
             }
-            if(height(node.right.left) - height(node.right.right) > 0) {
-                // left right case
-                node.right = rightRotate(node.right);
-                return leftRotate(node);
-            }
+            // right left case
+            node.right = rightRotate(node.right);
+            return leftRotate(node);
         }
 
         return node;
@@ -92,8 +180,8 @@ class AVL {
         c.right = p;
         p.left = t;
 
-        p.height = Math.max(height(p.left), height(p.right) + 1);
-        c.height = Math.max(height(c.left), height(c.right) + 1);
+        update(p);
+        update(c);
 
         return c;
     }
@@ -105,32 +193,161 @@ class AVL {
         p.left = c;
         c.right = t;
 
-        p.height = Math.max(height(p.left), height(p.right) + 1);
-        c.height = Math.max(height(c.left), height(c.right) + 1);
+        update(c);
+        update(p);
 
         return p;
     }
 
+    public boolean contains(int value) {
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                return true;
+            }
+            node = value < node.value ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // PersistentAVL has copies of floor, ceiling, rank and select, see there why
+
+    // largest value <= the given one, null if there is none
+    public Integer floor(int value) {
+        Integer result = null;
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                return value;
+            }
+            if (value < node.value) {
+                node = node.left;
+            } else {
+                result = node.value;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    // smallest value >= the given one, null if there is none
+    public Integer ceiling(int value) {
+        Integer result = null;
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                return value;
+            }
+            if (value > node.value) {
+                node = node.right;
+            } else {
+                result = node.value;
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    // how many values are smaller than the given one
+    public int rank(int value) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            if (value <= node.value) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // the k-th smallest value, counting from 0
+    public int select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + k + " is outside of a tree of size " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
     public void populate(int[] nums) {
         for (int i = 0; i < nums.length; i++) {
             this.insert(nums[i]);
         }
     }
 
+    // builds the nodes straight from the array in O(n) instead of n inserts from the root
+    // the array has to be sorted, repeats are dropped. a non empty tree is merged with it
     public void populatedSorted(int[] nums) {
-        populatedSorted(nums, 0, nums.length);
+        int[] values = SortedArrays.distinct(nums);
+        if (!isEmpty()) {
+            values = SortedArrays.union(toSortedArray(), values);
+        }
+        root = build(values, 0, values.length);
     }
 
-    private void populatedSorted(int[] nums, int start, int end) {
+    // taking the middle each time gives subtrees that differ in size by at most one, so no rotations
+    private Node build(int[] values, int start, int end) {
         if (start >= end) {
-            return;
+            return null;
+        }
+
+        int mid = (start + end) >>> 1;
+
+        Node node = new Node(values[mid]);
+        node.left = build(values, start, mid);
+        node.right = build(values, mid + 1, end);
+        update(node);
+        return node;
+    }
+
+    public int[] toSortedArray() {
+        int[] values = new int[size()];
+        Node[] stack = new Node[height() + 1];
+        int top = 0;
+        int n = 0;
+        Node node = root;
+        while (node != null || top > 0) {
+            while (node != null) {
+                stack[top++] = node;
+                node = node.left;
+            }
+            node = stack[--top];
+            values[n++] = node.value;
+            node = node.right;
         }
+        return values;
+    }
 
-        int mid = (start + end) / 2;
+    // the set operations flatten both trees, merge in O(m + n) and build a new tree
+    public AVL union(AVL other) {
+        return of(SortedArrays.union(toSortedArray(), other.toSortedArray()));
+    }
+
+    public AVL intersection(AVL other) {
+        return of(SortedArrays.intersection(toSortedArray(), other.toSortedArray()));
+    }
+
+    public AVL difference(AVL other) {
+        return of(SortedArrays.difference(toSortedArray(), other.toSortedArray()));
+    }
 
-        this.insert(nums[mid]);
-        populatedSorted(nums, start, mid);
-        populatedSorted(nums, mid + 1, end);
+    private static AVL of(int[] values) {
+        AVL tree = new AVL();
+        tree.root = tree.build(values, 0, values.length);
+        return tree;
     }
 
     public void display() {
@@ -161,4 +378,4 @@ class AVL {
         return Math.abs(height(node.left) - height(node.right)) <= 1 && balanced(node.left) && balanced(node.right);
     }
 
-}
\ No newline at end of file
+}
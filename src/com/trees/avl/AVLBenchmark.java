@@ -0,0 +1,77 @@
+package com.trees.avl;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+// n random inserts, n lookups and n deletes, AVL against TreeSet<Integer>
+class AVLBenchmark {
+    private static final int N = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int[] values = new int[N];
+        Random random = new Random(42);
+        for (int i = 0; i < N; i++) {
+            values[i] = random.nextInt();
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("round " + round);
+            avl(values);
+            treeSet(values);
+        }
+    }
+
+    private static void avl(int[] values) {
+        AVL tree = new AVL();
+        long start = System.nanoTime();
+        for (int value : values) {
+            tree.insert(value);
+        }
+        long insert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int value : values) {
+            checksum += tree.contains(value) ? 1 : 0;
+        }
+        long lookup = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int value : values) {
+            checksum += tree.delete(value) ? 1 : 0;
+        }
+        long delete = System.nanoTime() - start;
+
+        report("AVL", insert, lookup, delete, checksum);
+    }
+
+    private static void treeSet(int[] values) {
+        TreeSet<Integer> tree = new TreeSet<>();
+        long start = System.nanoTime();
+        for (int value : values) {
+            tree.add(value);
+        }
+        long insert = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int value : values) {
+            checksum += tree.contains(value) ? 1 : 0;
+        }
+        long lookup = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int value : values) {
+            checksum += tree.remove(value) ? 1 : 0;
+        }
+        long delete = System.nanoTime() - start;
+
+        report("TreeSet", insert, lookup, delete, checksum);
+    }
+
+    private static void report(String name, long insert, long lookup, long delete, long checksum) {
+        System.out.printf("%-10s insert %6d ms  contains %6d ms  delete %6d ms  (%d)%n",
+                name, insert / 1_000_000, lookup / 1_000_000, delete / 1_000_000, checksum);
+    }
+}
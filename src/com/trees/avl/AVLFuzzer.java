@@ -0,0 +1,59 @@
+package com.trees.avl;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+// random inserts and deletes against a TreeSet, every answer and the balance are checked after each round
+class AVLFuzzer {
+    private static final int ROUNDS = 200;
+    private static final int OPERATIONS = 5_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 7);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            AVL tree = new AVL();
+            TreeSet<Integer> expected = new TreeSet<>();
+            // small ranges give many duplicates and deletes that hit, large ones a deep tree
+            int range = 1 + random.nextInt(round % 2 == 0 ? 100 : 1_000_000);
+
+            for (int i = 0; i < OPERATIONS; i++) {
+                int value = random.nextInt(range);
+                if (random.nextInt(3) == 0) {
+                    check(tree.delete(value) == expected.remove(value), "delete " + value);
+                } else {
+                    tree.insert(value);
+                    expected.add(value);
+                }
+
+                int probe = random.nextInt(range + 2) - 1;
+                check(tree.contains(probe) == expected.contains(probe), "contains " + probe);
+                check(same(tree.floor(probe), expected.floor(probe)), "floor " + probe);
+                check(same(tree.ceiling(probe), expected.ceiling(probe)), "ceiling " + probe);
+                check(tree.rank(probe) == expected.headSet(probe).size(), "rank " + probe);
+            }
+
+            check(tree.size() == expected.size(), "size");
+            check(tree.balanced(), "balanced");
+            // an AVL tree is never more than 1.44 log2(n + 2) high
+            check(tree.height() <= 1.45 * Math.log(tree.size() + 2) / Math.log(2), "height " + tree.height());
+
+            int k = 0;
+            for (int value : expected) {
+                check(tree.select(k++) == value, "select " + (k - 1));
+            }
+        }
+
+        System.out.println("ok, " + ROUNDS + " rounds of " + OPERATIONS + " operations");
+    }
+
+    private static boolean same(Integer a, Integer b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("AVL differs from TreeSet at " + what + "!");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.trees.avl;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+// the current version of a PersistentAVL behind an AtomicReference
+// snapshot() is a single volatile read, the reader then has a tree that will never change under it
+// writers build the next version off to the side and swap it in with compareAndSet, retrying if
+// another writer got there first, so nobody ever waits for a lock
+public class AtomicAVL {
+    private final AtomicReference<PersistentAVL> current = new AtomicReference<>(PersistentAVL.empty());
+
+    public PersistentAVL snapshot() {
+        return current.get();
+    }
+
+    // false if the value was already there
+    public boolean insert(int value) {
+        return update(tree -> tree.insert(value));
+    }
+
+    // false if the value was not there
+    public boolean delete(int value) {
+        return update(tree -> tree.delete(value));
+    }
+
+    // applies the change to the latest version until it is published, true if it changed anything
+    public boolean update(UnaryOperator<PersistentAVL> change) {
+        while (true) {
+            PersistentAVL before = current.get();
+            PersistentAVL after = change.apply(before);
+            if (after == before) {
+                return false;
+            }
+            if (current.compareAndSet(before, after)) {
+                return true;
+            }
+        }
+    }
+}
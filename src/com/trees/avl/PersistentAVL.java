@@ -0,0 +1,278 @@
+package com.trees.avl;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+// immutable AVL tree: insert and delete leave this tree alone and return a new one that copies only
+// the nodes on the path to the change (and the few a rotation touches), everything else is shared
+// a reader keeps whatever version it got and walks it without locks, AtomicAVL publishes new versions
+public final class PersistentAVL {
+    private static final PersistentAVL EMPTY = new PersistentAVL(null);
+
+    private static final class Node {
+        final int value;
+        final Node left;
+        final Node right;
+        final int height;
+        final int size;
+
+        Node(int value, Node left, Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private final Node root;
+
+    private PersistentAVL(Node root) {
+        this.root = root;
+    }
+
+    public static PersistentAVL empty() {
+        return EMPTY;
+    }
+
+    private static int height(Node node) {
+        return node == null ? -1 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // this same tree if the value is already there
+    public PersistentAVL insert(int value) {
+        Node inserted = insert(root, value);
+        return inserted == root ? this : new PersistentAVL(inserted);
+    }
+
+    // a branch that did not change comes back as the same node, and nothing above it is copied either
+    private static Node insert(Node node, int value) {
+        if (node == null) {
+            return new Node(value, null, null);
+        }
+        if (value < node.value) {
+            Node left = insert(node.left, value);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        }
+        if (value > node.value) {
+            Node right = insert(node.right, value);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+        return node;
+    }
+
+    // this same tree if the value is not there
+    public PersistentAVL delete(int value) {
+        Node deleted = delete(root, value);
+        return deleted == root ? this : new PersistentAVL(deleted);
+    }
+
+    private static Node delete(Node node, int value) {
+        if (node == null) {
+            return null;
+        }
+        if (value < node.value) {
+            Node left = delete(node.left, value);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        }
+        if (value > node.value) {
+            Node right = delete(node.right, value);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // the successor takes this node's place
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, deleteMin(node.right));
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.value, deleteMin(node.left), node.right);
+    }
+
+    // builds the node for value over left and right, rotating if they differ in height by two
+    private static Node balance(int value, Node left, Node right) {
+        if (height(left) - height(right) > 1) {
+            if (height(left.left) >= height(left.right)) {
+                // left left case
+                return new Node(left.value, left.left, new Node(value, left.right, right));
+            }
+            // left right case
+            Node middle = left.right;
+            return new Node(middle.value, new Node(left.value, left.left, middle.left), new Node(value, middle.right, right));
+        }
+
+        if (height(left) - height(right) < -1) {
+            if (height(right.right) >= height(right.left)) {
+                // right right case
+                return new Node(right.value, new Node(value, left, right.left), right.right);
+            }
+            // right left case
+            Node middle = right.left;
+            return new Node(middle.value, new Node(value, left, middle.left), new Node(right.value, middle.right, right.right));
+        }
+
+        return new Node(value, left, right);
+    }
+
+    public boolean contains(int value) {
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                return true;
+            }
+            node = value < node.value ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // floor, ceiling, rank and select are the same walks as in AVL, copied on purpose: these nodes keep
+    // final fields so versions can share them safely, AVL's are mutable and its Node class is public.
+    // one version over both would need a common interface, with the links on AVL's public API and an
+    // interface call on every step of these loops. a fix in one copy belongs in the other
+
+    // largest value <= the given one, null if there is none
+    public Integer floor(int value) {
+        Integer result = null;
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                return value;
+            }
+            if (value < node.value) {
+                node = node.left;
+            } else {
+                result = node.value;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    // smallest value >= the given one, null if there is none
+    public Integer ceiling(int value) {
+        Integer result = null;
+        Node node = root;
+        while (node != null) {
+            if (value == node.value) {
+                return value;
+            }
+            if (value > node.value) {
+                node = node.right;
+            } else {
+                result = node.value;
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    // how many values are smaller than the given one
+    public int rank(int value) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            if (value <= node.value) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // the k-th smallest value, counting from 0
+    public int select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + k + " is outside of a tree of size " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+        iterator().forEachRemaining(action);
+    }
+
+    // in order. the tree never changes, so the iterator can not be disturbed by writers
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private final Node[] stack = new Node[height() + 1];
+            private int top = pushLeft(root, 0);
+
+            private int pushLeft(Node node, int top) {
+                while (node != null) {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+                return top;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return top > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (top == 0) {
+                    throw new NoSuchElementException();
+                }
+                Node node = stack[--top];
+                stack[top] = null;
+                top = pushLeft(node.right, top);
+                return node.value;
+            }
+        };
+    }
+
+    public boolean balanced() {
+        return balanced(root);
+    }
+
+    private static boolean balanced(Node node) {
+        if (node == null) {
+            return true;
+        }
+        return Math.abs(height(node.left) - height(node.right)) <= 1 && balanced(node.left) && balanced(node.right);
+    }
+}
@@ -0,0 +1,167 @@
+package com.trees.avl;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// 1. contains() throughput of reader threads with and without a writer inserting and deleting
+//    next to them, AtomicAVL snapshots against an AVL behind one lock
+// 2. bytes allocated per insert + delete pair, PersistentAVL against AVL
+class PersistentAVLBenchmark {
+    private static final int KEYS = 1_000_000;
+    private static final int KEY_RANGE = 2 * KEYS;
+    private static final long DURATION_MS = 2000;
+    private static final int UPDATES = 200_000;
+
+    interface Target {
+        boolean contains(int key);
+
+        void insert(int key);
+
+        void delete(int key);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+
+        for (boolean writer : new boolean[]{false, true}) {
+            System.out.println(readers + " readers, " + (writer ? "one writer" : "no writer"));
+            run("synchronized AVL", lockedAvl(), readers, writer);
+            run("AtomicAVL", atomicAvl(), readers, writer);
+        }
+
+        allocation();
+    }
+
+    private static Target lockedAvl() {
+        AVL tree = new AVL();
+        return new Target() {
+            public synchronized boolean contains(int key) {
+                return tree.contains(key);
+            }
+
+            public synchronized void insert(int key) {
+                tree.insert(key);
+            }
+
+            public synchronized void delete(int key) {
+                tree.delete(key);
+            }
+        };
+    }
+
+    private static Target atomicAvl() {
+        AtomicAVL index = new AtomicAVL();
+        return new Target() {
+            public boolean contains(int key) {
+                return index.snapshot().contains(key);
+            }
+
+            public void insert(int key) {
+                index.insert(key);
+            }
+
+            public void delete(int key) {
+                index.delete(key);
+            }
+        };
+    }
+
+    private static void run(String name, Target target, int readers, boolean withWriter) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < KEYS; i++) {
+            target.insert(random.nextInt(KEY_RANGE));
+        }
+
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[readers + (withWriter ? 1 : 0)];
+
+        for (int t = 0; t < readers; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom local = ThreadLocalRandom.current();
+                await(start);
+                long count = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 1000; i++) {
+                        target.contains(local.nextInt(KEY_RANGE));
+                    }
+                    count += 1000;
+                }
+                reads.add(count);
+            });
+        }
+        if (withWriter) {
+            threads[readers] = new Thread(() -> {
+                ThreadLocalRandom local = ThreadLocalRandom.current();
+                await(start);
+                long count = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 100; i++) {
+                        target.insert(local.nextInt(KEY_RANGE));
+                        target.delete(local.nextInt(KEY_RANGE));
+                    }
+                    count += 200;
+                }
+                writes.add(count);
+            });
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        Thread.sleep(DURATION_MS);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.printf("  %-18s reads %,12.0f /s  writes %,10.0f /s%n",
+                name, reads.sum() * 1000.0 / DURATION_MS, writes.sum() * 1000.0 / DURATION_MS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void allocation() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] keys = random.ints(UPDATES, 0, KEY_RANGE).toArray();
+
+        AVL mutable = new AVL();
+        PersistentAVL persistent = PersistentAVL.empty();
+        for (int i = 0; i < KEYS; i++) {
+            int key = random.nextInt(KEY_RANGE);
+            mutable.insert(key);
+            persistent = persistent.insert(key);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long before = bean.getCurrentThreadAllocatedBytes();
+            for (int key : keys) {
+                mutable.insert(key);
+                mutable.delete(key);
+            }
+            long mutableBytes = bean.getCurrentThreadAllocatedBytes() - before;
+
+            before = bean.getCurrentThreadAllocatedBytes();
+            for (int key : keys) {
+                persistent = persistent.insert(key).delete(key);
+            }
+            long persistentBytes = bean.getCurrentThreadAllocatedBytes() - before;
+
+            System.out.printf("allocated per insert + delete: AVL %6.1f bytes  PersistentAVL %6.1f bytes  (%d, %d)%n",
+                    (double) mutableBytes / UPDATES, (double) persistentBytes / UPDATES, mutable.size(), persistent.size());
+        }
+    }
+}
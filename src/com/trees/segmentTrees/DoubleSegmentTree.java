@@ -0,0 +1,76 @@
+package com.trees.segmentTrees;
+
+import java.util.function.DoubleBinaryOperator;
+
+// MonoidSegmentTree over a double[], the combine works on primitives and nothing is boxed
+// floating point addition is not exactly associative, a sum may differ from a left to right loop in the last bits
+class DoubleSegmentTree {
+
+    private final int n;
+    private final double[] tree;
+    private final DoubleBinaryOperator combine;
+    private final double identity;
+
+    public DoubleSegmentTree(double[] arr, DoubleBinaryOperator combine, double identity) {
+        this.n = arr.length;
+        this.tree = new double[2 * n];
+        this.combine = combine;
+        this.identity = identity;
+        System.arraycopy(arr, 0, tree, n, n);
+        for (int i = n - 1; i >= 1; i--) {
+            tree[i] = combine.applyAsDouble(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public static DoubleSegmentTree sum(double[] arr) {
+        return new DoubleSegmentTree(arr, Double::sum, 0);
+    }
+
+    public static DoubleSegmentTree min(double[] arr) {
+        return new DoubleSegmentTree(arr, Math::min, Double.POSITIVE_INFINITY);
+    }
+
+    public static DoubleSegmentTree max(double[] arr) {
+        return new DoubleSegmentTree(arr, Math::max, Double.NEGATIVE_INFINITY);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public double get(int index) {
+        check(index, index);
+        return tree[n + index];
+    }
+
+    // combine of arr[l .. r], both ends included
+    public double query(int l, int r) {
+        check(l, r);
+        double left = identity;
+        double right = identity;
+        for (l += n, r += n + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                left = combine.applyAsDouble(left, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                right = combine.applyAsDouble(tree[--r], right);
+            }
+        }
+        return combine.applyAsDouble(left, right);
+    }
+
+    public void update(int index, double value) {
+        check(index, index);
+        int i = index + n;
+        tree[i] = value;
+        for (i >>= 1; i >= 1; i >>= 1) {
+            tree[i] = combine.applyAsDouble(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    private void check(int l, int r) {
+        if (l < 0 || r >= n || l > r) {
+            throw new IndexOutOfBoundsException("Range [" + l + ", " + r + "] is not inside [0, " + (n - 1) + "]");
+        }
+    }
+}
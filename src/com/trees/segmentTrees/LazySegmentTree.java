@@ -0,0 +1,196 @@
+package com.trees.segmentTrees;
+
+// segment tree with range updates: add a delta to, or assign a value to, every element of [l, r],
+// and sum / min / max over [l, r], all O(log n)
+// an update stops at the nodes that lie completely inside the range and leaves a note (add[] or
+// assign[]) there, the note is pushed down to the children only when something has to go below it
+// values are longs so sums over large ranges do not overflow
+class LazySegmentTree {
+
+    private final int n;
+    // node 1 covers [0, n - 1], node i has children 2i and 2i + 1
+    private final long[] sum;
+    private final long[] min;
+    private final long[] max;
+    // pending for the children, an assign always comes first and an add goes on top of it
+    private final long[] add;
+    private final long[] assign;
+    private final boolean[] assigned;
+
+    public LazySegmentTree(int[] arr) {
+        this(toLongs(arr));
+    }
+
+    public LazySegmentTree(long[] arr) {
+        if (arr.length == 0) {
+            throw new IllegalArgumentException("Array can not be empty!");
+        }
+        this.n = arr.length;
+        int size = 4 * n;
+        sum = new long[size];
+        min = new long[size];
+        max = new long[size];
+        add = new long[size];
+        assign = new long[size];
+        assigned = new boolean[size];
+        build(arr, 1, 0, n - 1);
+    }
+
+    private static long[] toLongs(int[] arr) {
+        long[] values = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            values[i] = arr[i];
+        }
+        return values;
+    }
+
+    private void build(long[] arr, int node, int start, int end) {
+        if (start == end) {
+            sum[node] = arr[start];
+            min[node] = arr[start];
+            max[node] = arr[start];
+            return;
+        }
+        int mid = (start + end) >>> 1;
+        build(arr, 2 * node, start, mid);
+        build(arr, 2 * node + 1, mid + 1, end);
+        pull(node);
+    }
+
+    private void pull(int node) {
+        sum[node] = sum[2 * node] + sum[2 * node + 1];
+        min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+        max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    private void applyAssign(int node, int start, int end, long value) {
+        sum[node] = value * (end - start + 1);
+        min[node] = value;
+        max[node] = value;
+        assign[node] = value;
+        assigned[node] = true;
+        add[node] = 0;
+    }
+
+    private void applyAdd(int node, int start, int end, long delta) {
+        sum[node] += delta * (end - start + 1);
+        min[node] += delta;
+        max[node] += delta;
+        if (assigned[node]) {
+            assign[node] += delta;
+        } else {
+            add[node] += delta;
+        }
+    }
+
+    private void push(int node, int start, int end) {
+        int mid = (start + end) >>> 1;
+        if (assigned[node]) {
+            applyAssign(2 * node, start, mid, assign[node]);
+            applyAssign(2 * node + 1, mid + 1, end, assign[node]);
+            assigned[node] = false;
+        }
+        if (add[node] != 0) {
+            applyAdd(2 * node, start, mid, add[node]);
+            applyAdd(2 * node + 1, mid + 1, end, add[node]);
+            add[node] = 0;
+        }
+    }
+
+    private void check(int l, int r) {
+        if (l < 0 || r >= n || l > r) {
+            throw new IndexOutOfBoundsException("Range [" + l + ", " + r + "] is not inside [0, " + (n - 1) + "]");
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // adds delta to every element of [l, r]
+    public void rangeAdd(int l, int r, long delta) {
+        check(l, r);
+        update(1, 0, n - 1, l, r, delta, false);
+    }
+
+    // sets every element of [l, r] to value
+    public void rangeAssign(int l, int r, long value) {
+        check(l, r);
+        update(1, 0, n - 1, l, r, value, true);
+    }
+
+    public void update(int index, long value) {
+        rangeAssign(index, index, value);
+    }
+
+    private void update(int node, int start, int end, int l, int r, long value, boolean isAssign) {
+        if (r < start || end < l) {
+            return;
+        }
+        if (l <= start && end <= r) {
+            if (isAssign) {
+                applyAssign(node, start, end, value);
+            } else {
+                applyAdd(node, start, end, value);
+            }
+            return;
+        }
+        push(node, start, end);
+        int mid = (start + end) >>> 1;
+        update(2 * node, start, mid, l, r, value, isAssign);
+        update(2 * node + 1, mid + 1, end, l, r, value, isAssign);
+        pull(node);
+    }
+
+    public long sum(int l, int r) {
+        check(l, r);
+        return sum(1, 0, n - 1, l, r);
+    }
+
+    private long sum(int node, int start, int end, int l, int r) {
+        if (r < start || end < l) {
+            return 0;
+        }
+        if (l <= start && end <= r) {
+            return sum[node];
+        }
+        push(node, start, end);
+        int mid = (start + end) >>> 1;
+        return sum(2 * node, start, mid, l, r) + sum(2 * node + 1, mid + 1, end, l, r);
+    }
+
+    public long min(int l, int r) {
+        check(l, r);
+        return min(1, 0, n - 1, l, r);
+    }
+
+    private long min(int node, int start, int end, int l, int r) {
+        if (r < start || end < l) {
+            return Long.MAX_VALUE;
+        }
+        if (l <= start && end <= r) {
+            return min[node];
+        }
+        push(node, start, end);
+        int mid = (start + end) >>> 1;
+        return Math.min(min(2 * node, start, mid, l, r), min(2 * node + 1, mid + 1, end, l, r));
+    }
+
+    public long max(int l, int r) {
+        check(l, r);
+        return max(1, 0, n - 1, l, r);
+    }
+
+    private long max(int node, int start, int end, int l, int r) {
+        if (r < start || end < l) {
+            return Long.MIN_VALUE;
+        }
+        if (l <= start && end <= r) {
+            return max[node];
+        }
+        push(node, start, end);
+        int mid = (start + end) >>> 1;
+        return Math.max(max(2 * node, start, mid, l, r), max(2 * node + 1, mid + 1, end, l, r));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.trees.segmentTrees;
+
+import java.util.Random;
+
+// random range adds, assigns and queries against a plain array that does everything the slow way
+class LazySegmentTreeFuzzer {
+    private static final int ROUNDS = 500;
+    private static final int OPERATIONS = 2_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 7);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            int n = 1 + random.nextInt(200);
+            long[] naive = new long[n];
+            for (int i = 0; i < n; i++) {
+                naive[i] = random.nextInt(2000) - 1000;
+            }
+            LazySegmentTree tree = new LazySegmentTree(naive.clone());
+
+            for (int op = 0; op < OPERATIONS; op++) {
+                int l = random.nextInt(n);
+                int r = l + random.nextInt(n - l);
+                long value = random.nextInt(2000) - 1000;
+
+                switch (random.nextInt(5)) {
+                    case 0:
+                        tree.rangeAdd(l, r, value);
+                        for (int i = l; i <= r; i++) {
+                            naive[i] += value;
+                        }
+                        break;
+                    case 1:
+                        tree.rangeAssign(l, r, value);
+                        for (int i = l; i <= r; i++) {
+                            naive[i] = value;
+                        }
+                        break;
+                    default:
+                        long sum = 0;
+                        long min = Long.MAX_VALUE;
+                        long max = Long.MIN_VALUE;
+                        for (int i = l; i <= r; i++) {
+                            sum += naive[i];
+                            min = Math.min(min, naive[i]);
+                            max = Math.max(max, naive[i]);
+                        }
+                        check(tree.sum(l, r) == sum, "sum", l, r);
+                        check(tree.min(l, r) == min, "min", l, r);
+                        check(tree.max(l, r) == max, "max", l, r);
+                }
+            }
+        }
+
+        System.out.println("ok, " + ROUNDS + " rounds of " + OPERATIONS + " operations");
+    }
+
+    private static void check(boolean condition, String what, int l, int r) {
+        if (!condition) {
+            throw new IllegalStateException("LazySegmentTree differs from the array at " + what + " [" + l + ", " + r + "]!");
+        }
+    }
+}
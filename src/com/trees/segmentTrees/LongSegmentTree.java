@@ -0,0 +1,91 @@
+package com.trees.segmentTrees;
+
+import java.util.function.LongBinaryOperator;
+
+// MonoidSegmentTree over a long[], the combine works on primitives and nothing is boxed
+class LongSegmentTree {
+
+    private final int n;
+    private final long[] tree;
+    private final LongBinaryOperator combine;
+    private final long identity;
+
+    public LongSegmentTree(long[] arr, LongBinaryOperator combine, long identity) {
+        this.n = arr.length;
+        this.tree = new long[2 * n];
+        this.combine = combine;
+        this.identity = identity;
+        System.arraycopy(arr, 0, tree, n, n);
+        for (int i = n - 1; i >= 1; i--) {
+            tree[i] = combine.applyAsLong(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public static LongSegmentTree sum(long[] arr) {
+        return new LongSegmentTree(arr, Long::sum, 0);
+    }
+
+    public static LongSegmentTree min(long[] arr) {
+        return new LongSegmentTree(arr, Math::min, Long.MAX_VALUE);
+    }
+
+    public static LongSegmentTree max(long[] arr) {
+        return new LongSegmentTree(arr, Math::max, Long.MIN_VALUE);
+    }
+
+    // gcd(0, x) = x, so 0 is the identity
+    public static LongSegmentTree gcd(long[] arr) {
+        return new LongSegmentTree(arr, LongSegmentTree::gcd, 0);
+    }
+
+    private static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public long get(int index) {
+        check(index, index);
+        return tree[n + index];
+    }
+
+    // combine of arr[l .. r], both ends included
+    public long query(int l, int r) {
+        check(l, r);
+        long left = identity;
+        long right = identity;
+        for (l += n, r += n + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                left = combine.applyAsLong(left, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                right = combine.applyAsLong(tree[--r], right);
+            }
+        }
+        return combine.applyAsLong(left, right);
+    }
+
+    public void update(int index, long value) {
+        check(index, index);
+        int i = index + n;
+        tree[i] = value;
+        for (i >>= 1; i >= 1; i >>= 1) {
+            tree[i] = combine.applyAsLong(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    private void check(int l, int r) {
+        if (l < 0 || r >= n || l > r) {
+            throw new IndexOutOfBoundsException("Range [" + l + ", " + r + "] is not inside [0, " + (n - 1) + "]");
+        }
+    }
+}
@@ -1,11 +1,65 @@
 package com.trees.segmentTrees;
 
 class Main {
+    private static final int SKETCH_BUCKETS = 64;
+
     public static void main(String[] args) {
         int[] arr = {3, 8, 6, 7, -2, -8, 4, 9};
         SegmentTree tree = new SegmentTree(arr);
         // tree.display();
 
         System.out.println(tree.query(1, 6));
+
+        tree.update(4, 10);
+        System.out.println(tree.query(1, 6));
+
+        // one engine, different monoids
+        long[] values = {12, 18, 3_000_000_000L, 24, 36, 6, 48, 30};
+        System.out.println("sum " + LongSegmentTree.sum(values).query(1, 6));
+        System.out.println("min " + LongSegmentTree.min(values).query(1, 6));
+        System.out.println("max " + LongSegmentTree.max(values).query(1, 6));
+        System.out.println("gcd " + LongSegmentTree.gcd(values).query(3, 7));
+
+        double[] prices = {1.5, 2.25, 0.75, 3.0};
+        System.out.println("max price " + DoubleSegmentTree.max(prices).query(0, 2));
+
+        // approximate number of distinct values in a range: each leaf is a small sketch, combine is a
+        // bitwise or, so any range is answered from O(log n) sketches
+        int n = 100_000;
+        long[][] sketches = new long[n][];
+        for (int i = 0; i < n; i++) {
+            sketches[i] = sketch(i % 5_000);
+        }
+        MonoidSegmentTree<long[]> distinct = new MonoidSegmentTree<>(sketches, Main::union, new long[SKETCH_BUCKETS]);
+        System.out.println("distinct in [0, 99999] ~ " + Math.round(estimate(distinct.query(0, n - 1))) + " (5000)");
+        System.out.println("distinct in [0, 999] ~ " + Math.round(estimate(distinct.query(0, 999))) + " (1000)");
+    }
+
+    // Flajolet-Martin with stochastic averaging: the hash picks a bucket and sets the bit for its
+    // number of trailing zeros, the lowest bit never set in a bucket says roughly log2(distinct / buckets)
+    private static long[] sketch(int value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 32;
+        long[] sketch = new long[SKETCH_BUCKETS];
+        sketch[(int) (h & (SKETCH_BUCKETS - 1))] = 1L << Long.numberOfTrailingZeros(h >>> 6 | Long.MIN_VALUE);
+        return sketch;
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        long[] result = new long[SKETCH_BUCKETS];
+        for (int i = 0; i < SKETCH_BUCKETS; i++) {
+            result[i] = a[i] | b[i];
+        }
+        return result;
+    }
+
+    private static double estimate(long[] sketch) {
+        double lowestUnset = 0;
+        for (long bits : sketch) {
+            lowestUnset += Long.numberOfTrailingZeros(~bits);
+        }
+        return SKETCH_BUCKETS / 0.77351 * Math.pow(2, lowestUnset / SKETCH_BUCKETS);
     }
 }
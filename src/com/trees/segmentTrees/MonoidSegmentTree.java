@@ -0,0 +1,72 @@
+package com.trees.segmentTrees;
+
+import java.util.function.BinaryOperator;
+
+// flat bottom-up segment tree for any monoid: an associative combine and its identity
+// combine does not have to be commutative, query keeps what it picks up on the left and on the right
+// apart and joins them in order at the end
+// LongSegmentTree and DoubleSegmentTree are the same engine without boxing
+class MonoidSegmentTree<T> {
+
+    private final int n;
+    // tree[n + i] is element i, tree[i] = combine(tree[2i], tree[2i + 1])
+    private final Object[] tree;
+    private final BinaryOperator<T> combine;
+    private final T identity;
+
+    public MonoidSegmentTree(T[] arr, BinaryOperator<T> combine, T identity) {
+        this.n = arr.length;
+        this.tree = new Object[2 * n];
+        this.combine = combine;
+        this.identity = identity;
+        System.arraycopy(arr, 0, tree, n, n);
+        for (int i = n - 1; i >= 1; i--) {
+            tree[i] = combine.apply(elementAt(2 * i), elementAt(2 * i + 1));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) tree[index];
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public T get(int index) {
+        check(index, index);
+        return elementAt(n + index);
+    }
+
+    // combine of arr[l .. r], both ends included
+    public T query(int l, int r) {
+        check(l, r);
+        T left = identity;
+        T right = identity;
+        for (l += n, r += n + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                left = combine.apply(left, elementAt(l++));
+            }
+            if ((r & 1) == 1) {
+                right = combine.apply(elementAt(--r), right);
+            }
+        }
+        return combine.apply(left, right);
+    }
+
+    public void update(int index, T value) {
+        check(index, index);
+        int i = index + n;
+        tree[i] = value;
+        for (i >>= 1; i >= 1; i >>= 1) {
+            tree[i] = combine.apply(elementAt(2 * i), elementAt(2 * i + 1));
+        }
+    }
+
+    private void check(int l, int r) {
+        if (l < 0 || r >= n || l > r) {
+            throw new IndexOutOfBoundsException("Range [" + l + ", " + r + "] is not inside [0, " + (n - 1) + "]");
+        }
+    }
+}
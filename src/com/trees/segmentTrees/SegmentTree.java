@@ -1,114 +1,61 @@
 package com.trees.segmentTrees;
 
 
+// sum segment tree in one flat array of 2n ints, no node objects and no recursion
+// the leaves are tree[n .. 2n - 1], tree[i] is the sum of tree[2i] and tree[2i + 1], tree[0] is unused
+// query and update walk from the leaves up, so there are no intervals to store or compare
 class SegmentTree {
 
-    private static class Node {
-        int data;
-        int startInterval;
-        int endInterval;
-        Node left;
-        Node right;
-
-        public Node (int startInterval, int endInterval) {
-            this.startInterval = startInterval;
-            this.endInterval = endInterval;
-        }
-    }
-
-    Node root;
+    private final int n;
+    private final int[] tree;
 
     public SegmentTree(int[] arr) {
         // create a tree using this array
-        this.root = constructTree(arr, 0, arr.length - 1);
-    }
-
-    private Node constructTree(int[] arr, int start, int end) {
-        if(start == end) {
-            // leaf node
-            Node leaf = new Node(start, end);
-            leaf.data = arr[start];
-            return leaf;
+        this.n = arr.length;
+        this.tree = new int[2 * n];
+        System.arraycopy(arr, 0, tree, n, n);
+        for (int i = n - 1; i >= 1; i--) {
+            tree[i] = tree[2 * i] + tree[2 * i + 1];
         }
-
-        // create new node with index you are at
-        Node node = new Node(start, end);
-
-        int mid = (start + end) / 2;
-
-        node.left = this.constructTree(arr, start, mid);
-        node.right = this.constructTree(arr, mid + 1, end);
-
-        node.data = node.left.data + node.right.data;
-        return node;
     }
 
     public void display() {
-        display(this.root);
-    }
-    private void display(Node node) {
-        String str = "";
-
-        if(node.left != null) {
-            str = str + "Interval=[" + node.left.startInterval + "-" + node.left.endInterval + "] and data: " + node.left.data + " => ";
-        } else {
-            str = str + "No left child";
+        for (int i = 1; i < n; i++) {
+            System.out.println("Node " + i + " and data: " + tree[i] + " <= children " + (2 * i) + " and " + (2 * i + 1));
         }
-
-        // for current node
-        str = str + "Interval=[" + node.startInterval + "-" + node.endInterval + "] and data: " + node.data + " <= ";
-
-        if(node.right != null) {
-            str = str + "Interval=[" + node.right.startInterval + "-" + node.right.endInterval + "] and data: " + node.right.data;
-        } else {
-            str = str + "No right child";
-        }
-
-        System.out.println(str + '\n');
-
-        // call recursion
-        if(node.left != null) {
-            display(node.left);
-        }
-
-        if(node.right != null) {
-            display(node.right);
+        for (int i = 0; i < n; i++) {
+            System.out.println("Interval=[" + i + "-" + i + "] and data: " + tree[n + i]);
         }
     }
 
-    // query
+    // sum of arr[qsi .. qei], both ends included, the part outside the array counts as 0
     public int query(int qsi, int qei) {
-        return this.query(this.root, qsi, qei);
-    }
-    private int query(Node node, int qsi, int qei) {
-        if(node.startInterval >= qsi && node.endInterval <= qei) {
-            // node is completely lying inside query
-            return node.data;
-        } else if (node.startInterval > qei || node.endInterval < qsi) {
-            // completely outside
-            return 0;
-        } else {
-            return this.query(node.left, qsi, qei) + this.query(node.right, qsi, qei);
+        int sum = 0;
+        // l and r close in on each other from the leaves, a node that sticks out of [l, r) on the
+        // left or right is taken as a whole and stepped over
+        int l = Math.max(qsi, 0) + n;
+        int r = Math.min(qei, n - 1) + n + 1;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                sum += tree[l++];
+            }
+            if ((r & 1) == 1) {
+                sum += tree[--r];
+            }
         }
+        return sum;
     }
 
-    // update
+    // an index outside the array changes nothing
     public void update(int index, int value) {
-        this.root.data = update(this.root, index, value);
-    }
-    private int update(Node node, int index, int value) {
-        if (index >= node.startInterval&& index <= node.endInterval){
-            if(index == node.startInterval && index == node.endInterval) {
-                node.data = value;
-                return node.data;
-            } else {
-                int leftAns = update(node.left, index, value);
-                int rightAns = update(node.right, index, value);
-                node.data = leftAns + rightAns;
-                return node.data;
-            }
+        if (index < 0 || index >= n) {
+            return;
+        }
+        int i = index + n;
+        tree[i] = value;
+        for (i >>= 1; i >= 1; i >>= 1) {
+            tree[i] = tree[2 * i] + tree[2 * i + 1];
         }
-        return node.data;
     }
 
 }